@@ -0,0 +1,90 @@
+package com.example.auth.security;
+
+import com.example.auth.config.JwtSigningProperties;
+import com.example.auth.entity.User;
+import com.example.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 전체 경로(토큰 추출 - 검증 - 사용자 조회 - SecurityContext 설정) 비용 측정
+ * UserRepository는 mock으로 대체하므로 DB 비용은 포함하지 않는다.
+ *
+ * 실행: gradle jmh -PjmhIncludes=JwtAuthenticationFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    @Param({"true", "false"})
+    public boolean verificationCacheEnabled;
+
+    private JwtAuthenticationFilter filter;
+    private String authorizationHeader;
+    private final FilterChain filterChain = (request, response) -> { };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setAlgorithm(algorithm);
+        JwtTokenProvider jwtTokenProvider = new JwtTokenProvider(JwtTokenBenchmark.SECRET, 3_600_000, 604_800_000, properties);
+
+        User user = User.builder()
+                .id(12345L)
+                .email("benchmark-user@example.com")
+                .nickname("benchmark")
+                .role(User.Role.ROLE_USER)
+                .isActive(true)
+                .build();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findById(12345L)).thenReturn(Optional.of(user));
+
+        VerifiedTokenCache verifiedTokenCache = new VerifiedTokenCache(
+                jwtTokenProvider, new SimpleMeterRegistry(), verificationCacheEnabled, 10_000);
+        // 사용자 조회 비용(mock)만 측정하도록 principal cache는 끔
+        PrincipalCache principalCache = new PrincipalCache(new SimpleMeterRegistry(), Duration.ZERO, 0);
+        Mockito.when(userRepository.findSessionEpochById(12345L)).thenReturn(Optional.of(0));
+        SessionEpochCache sessionEpochCache =
+                new SessionEpochCache(userRepository, new SimpleMeterRegistry(), Duration.ofMinutes(5), 1000);
+        // 폐기된 토큰이 없는 일반적인 경우(Bloom filter 조회만 발생)
+        AccessTokenDenylist accessTokenDenylist =
+                new AccessTokenDenylist(new SimpleMeterRegistry(), 100_000, 0.01, Duration.ofSeconds(1));
+        filter = new JwtAuthenticationFilter(verifiedTokenCache, userRepository,
+                new AccountRevocationRegistry(jwtTokenProvider), principalCache, sessionEpochCache, accessTokenDenylist);
+        authorizationHeader = "Bearer " + jwtTokenProvider.generateAccessToken(user.getEmail(), user.getId());
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/me");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, filterChain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
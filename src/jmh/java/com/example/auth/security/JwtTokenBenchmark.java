@@ -0,0 +1,86 @@
+package com.example.auth.security;
+
+import com.example.auth.config.JwtSigningProperties;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider의 토큰 검증 비용 측정
+ * 알고리즘별, claim 개수별로 측정한다.(발급 비용은 JwtTokenGenerationBenchmark)
+ *
+ * 실행: gradle jmh -PjmhIncludes=JwtTokenBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenBenchmark {
+
+    static final String SECRET = "XE0MVi2G3c1N2YQW623uzEPYKWEdB0osLRXJRnmM+41MzqDVTWRIaybn1yLFeVrUck25MZ+ZKnwcLQnnw75dZA==";
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    // 기본 claim 외에 추가되는 claim 개수
+    @Param({"0", "8", "32"})
+    public int extraClaims;
+
+    private JwtTokenProvider jwtTokenProvider;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtAlgorithm jwtAlgorithm = JwtAlgorithm.of(algorithm);
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setAlgorithm(algorithm);
+        properties.setKeyId("bench");
+
+        JwtSigningKey signingKey;
+        if (jwtAlgorithm.isAsymmetric()) {
+            KeyPair keyPair = jwtAlgorithm.generateKeyPair();
+            properties.setPrivateKey(Base64.getEncoder().encodeToString(keyPair.getPrivate().getEncoded()));
+            properties.setPublicKey(Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded()));
+            signingKey = JwtSigningKey.asymmetric("bench", jwtAlgorithm, keyPair);
+        } else {
+            signingKey = JwtSigningKey.hmac("bench", SECRET);
+        }
+
+        jwtTokenProvider = new JwtTokenProvider(SECRET, 600_000, 604_800_000, properties);
+        token = createToken(signingKey, extraClaims);
+    }
+
+    static String createToken(JwtSigningKey signingKey, int extraClaims) {
+        Date now = new Date();
+        JwtBuilder builder = Jwts.builder()
+                .header().keyId(signingKey.keyId()).and()
+                .subject("benchmark-user@example.com")
+                .claim("userId", 12345L)
+                .claim("type", VerifiedToken.TYPE_ACCESS)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + 3_600_000));
+        for (int i = 0; i < extraClaims; i++) {
+            builder.claim("claim" + i, "value-" + i);
+        }
+        return builder
+                .signWith(signingKey.signingKey(), signingKey.algorithm().signatureAlgorithm())
+                .compact();
+    }
+
+    @Benchmark
+    public VerifiedToken verify() {
+        return jwtTokenProvider.verify(token);
+    }
+}
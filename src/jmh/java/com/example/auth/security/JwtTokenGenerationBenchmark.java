@@ -0,0 +1,49 @@
+package com.example.auth.security;
+
+import com.example.auth.config.JwtSigningProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtTokenProvider의 토큰 발급 비용 측정
+ * 발급하는 claim은 JwtTokenProvider가 정하므로 알고리즘별로만 측정한다.
+ *
+ * 실행: gradle jmh -PjmhIncludes=JwtTokenGenerationBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenGenerationBenchmark {
+
+    @Param({"HS256", "ES256", "EdDSA"})
+    public String algorithm;
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 비대칭 알고리즘은 키를 설정하지 않으면 JwtTokenProvider가 임시 키를 만든다.
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setAlgorithm(algorithm);
+        jwtTokenProvider = new JwtTokenProvider(JwtTokenBenchmark.SECRET, 600_000, 604_800_000, properties);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtTokenProvider.generateAccessToken("benchmark-user@example.com", 12345L);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtTokenProvider.generateRefreshToken("benchmark-user@example.com");
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.auth.config;
+
+import com.example.auth.security.JwtKeyRing;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JWT 서명 방식 설정 항목들 저장
+ * application.yaml의 jwt.signing 설정 바인딩(binding)
+ *
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "jwt.signing")
+public class JwtSigningProperties {
+
+    // 서명 알고리즘(HS256, ES256, EdDSA), 기본값은 기존과 같은 HMAC(jwt.secret 사용)
+    private String algorithm = "HS256";
+
+    // 토큰 header의 kid 값, JWKS에 공개되는 키의 id
+    // kid가 없는 이전 토큰은 "default" 키로 검증하므로, 기존 키를 교체할 때는 verification-keys에 "default"로 남겨둔다.
+    private String keyId = JwtKeyRing.LEGACY_KEY_ID;
+
+    // 비대칭 서명용 개인키(PKCS#8 DER을 base64 또는 PEM으로 인코딩)
+    private String privateKey;
+
+    // 비대칭 서명용 공개키(X.509 DER을 base64 또는 PEM으로 인코딩)
+    private String publicKey;
+
+    // JWKS 응답의 Cache-Control max-age
+    private Duration jwksMaxAge = Duration.ofHours(1);
+
+    // 서명에는 사용하지 않고 검증에만 사용하는 키 목록(키 교체용)
+    private List<VerificationKey> verificationKeys = new ArrayList<>();
+
+    /**
+     * 검증 전용 키
+     * retiredAt이 없으면 다음에 사용할 키(미리 배포해 두는 키)이고,
+     * retiredAt이 있으면 교체된 키로 retiredAt + refresh token 만료 시간까지만 검증에 사용된다.
+     */
+    @Getter
+    @Setter
+    public static class VerificationKey {
+        // 토큰 header의 kid 값
+        private String keyId;
+
+        // 서명 알고리즘(HS256, ES256, EdDSA)
+        private String algorithm = "HS256";
+
+        // HS256 비밀키
+        private String secret;
+
+        // ES256, EdDSA 공개키(X.509 DER을 base64 또는 PEM으로 인코딩)
+        private String publicKey;
+
+        // 서명키에서 물러난 시간
+        private Instant retiredAt;
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.auth.config;
 
+import com.example.auth.entity.User;
+import com.example.auth.security.BoundedPasswordEncoder;
 import com.example.auth.security.CustomLogoutHandler;
 import com.example.auth.security.CustomSuccessLogoutHandler;
 import com.example.auth.security.JwtAuthenticationFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -18,6 +23,8 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
 @RequiredArgsConstructor
@@ -40,9 +47,27 @@ public class SecurityConfig {
         return config.getAuthenticationManager();
     }
 
+    /**
+     * BCrypt는 요청 스레드가 아닌 스레드 수가 제한된 전용 풀에서 실행한다.
+     * threads가 0 이하이면 CPU 코어 수 - 1(최소 1)을 사용해서 다른 요청이 사용할 CPU를 남겨둔다.
+     * cost는 모든 서버가 같은 값을 사용하도록 설정으로 고정한다.(서버마다 측정하면 측정 오차로 cost가 달라지고,
+     * 다시 해싱은 cost를 올리기만 하므로 한 번 높게 측정된 cost가 계속 남는다.)
+     * 배포 환경에서 gradle calibrateBcrypt(BCryptCostCalibrator)로 한 번 측정하고 그 결과를 설정한다.
+     * 이전 cost로 저장된 비밀번호는 로그인할 때 설정된 cost로 다시 해싱한다.(PasswordRehashService)
+     */
     @Bean
-    public PasswordEncoder passwordEncoder () {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder (
+            MeterRegistry meterRegistry,
+            @Value("${auth.password-hashing.threads:0}") int threads,
+            @Value("${auth.password-hashing.queue-capacity:1000}") int queueCapacity,
+            @Value("${auth.password-hashing.queue-budget:500ms}") Duration queueBudget,
+            @Value("${auth.password-hashing.cost:10}") int cost
+    ) {
+        Gauge.builder("auth.password.hashing.cost", () -> cost)
+                .register(meterRegistry);
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(cost), poolSize, queueCapacity, queueBudget, meterRegistry);
     }
 
     @Bean
@@ -64,6 +89,8 @@ public class SecurityConfig {
                                 .requestMatchers("/api/health", "/api/signup", "/api/login", "/api/refresh", "/api/loginEx").permitAll()  // 여기에 적힌 route를 통과시킴
                                 .requestMatchers("/api/oauth/kakao/**").permitAll()
                                 .requestMatchers("/uploads/**").permitAll()
+                                .requestMatchers("/.well-known/jwks.json").permitAll()
+                                .requestMatchers("/api/admin/**").hasAuthority(User.Role.ROLE_ADMIN.name())
                                 .anyRequest().authenticated()   // 그 외는 다 인증 필요
                 )
                 .exceptionHandling(ex ->
@@ -0,0 +1,50 @@
+package com.example.auth.controller;
+
+import com.example.auth.dto.ApiResponse;
+import com.example.auth.dto.RoleChangeRequest;
+import com.example.auth.security.AuthUser;
+import com.example.auth.service.UserService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * 관리자용 사용자 계정 관리 컨트롤러
+ * 권한 변경, 비활성화는 계정 상태 버전을 올리므로 이전에 발급된 access token은 바로 사용할 수 없게 된다.
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/users")
+public class AdminUserController {
+    private final UserService userService;
+
+    /**
+     * {
+     *     "role": "ROLE_ADMIN"
+     * }
+     */
+    @PutMapping("/{userId}/role")
+    public ResponseEntity<ApiResponse<Void>> changeRole(
+            @AuthenticationPrincipal AuthUser admin,
+            @PathVariable Long userId,
+            @Valid @RequestBody RoleChangeRequest request
+    ) {
+        log.info("사용자 권한 변경 요청 - 요청: {}, userId: {}", admin.id(), userId);
+        userService.changeRole(userId, request.getRole());
+        return ResponseEntity.ok(ApiResponse.success("사용자 권한 변경 성공"));
+    }
+
+    @PostMapping("/{userId}/deactivate")
+    public ResponseEntity<ApiResponse<Void>> deactivate(
+            @AuthenticationPrincipal AuthUser admin,
+            @PathVariable Long userId
+    ) {
+        log.info("사용자 계정 비활성화 요청 - 요청: {}, userId: {}", admin.id(), userId);
+        userService.deactivate(userId);
+        return ResponseEntity.ok(ApiResponse.success("사용자 계정 비활성화 성공"));
+    }
+}
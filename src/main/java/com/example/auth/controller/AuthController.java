@@ -2,7 +2,10 @@ package com.example.auth.controller;
 
 import com.example.auth.dto.*;
 import com.example.auth.exception.TokenException;
+import com.example.auth.security.AuthUser;
 import com.example.auth.service.Authservice;
+import com.example.auth.service.IdempotentRequests;
+import com.example.auth.service.RefreshCoalescer;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -11,6 +14,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,6 +24,10 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final Authservice authservice;
+    private final RefreshCoalescer refreshCoalescer;
+    private final IdempotentRequests idempotentRequests;
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
 
     @GetMapping("/health")
     public ResponseEntity<?> health() {
@@ -35,9 +44,17 @@ public class AuthController {
      * @return
      */
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@Valid @RequestBody RequestSignup requestSignup) {
+    public ResponseEntity<?> signup(
+            @Valid @RequestBody RequestSignup requestSignup,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey
+    ) {
 
-        ApiResponse<Void> response = authservice.signup(requestSignup);
+        // 같은 Idempotency-Key로 재시도한 요청은 처음 결과를 그대로 돌려준다.
+        ApiResponse<Void> response = idempotentRequests.execute("signup", idempotencyKey,
+                fingerprint(requestSignup.getEmail(), requestSignup.getPassword(), requestSignup.getUsername()),
+                () -> authservice.signup(requestSignup),
+                r -> new ApiResponse<>(r.getSuccess(), r.getMessage(), r.getData()),
+                r -> Boolean.TRUE.equals(r.getSuccess()));
 
         // 회원가입 성공 여부를 판단하여 response
         HttpStatusCode statusCode = response.getSuccess() ? HttpStatus.CREATED : HttpStatus.BAD_REQUEST;
@@ -46,8 +63,16 @@ public class AuthController {
     }
 
     @PostMapping("/old_login")
-    public ResponseEntity<?> login(@Valid @RequestBody RequestLogin requestLogin){
-        LoginResponse response = authservice.login(requestLogin);
+    public ResponseEntity<?> login(
+            @Valid @RequestBody RequestLogin requestLogin,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            HttpServletRequest request
+    ){
+        LoginResponse response = idempotentRequests.execute("old_login", idempotencyKey,
+                fingerprint(requestLogin.getEmail(), requestLogin.getPassword()),
+                () -> authservice.login(requestLogin, request.getRemoteAddr()),
+                AuthController::copy,
+                AuthController::isLoggedIn);
         if (!(response.getAccessToken().isEmpty())){
             return ResponseEntity.status(HttpStatus.OK).body(
                     ApiResponse.success("로그인 성공.", response)
@@ -62,17 +87,19 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> loginEx(
             @Valid @RequestBody RequestLogin requestLogin,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             HttpServletRequest request,
             HttpServletResponse httpResponse
     ){
-        LoginResponse response = authservice.loginEx(requestLogin);
+        // 같은 Idempotency-Key로 재시도한 요청은 refresh token을 새로 발급하지 않고 처음 결과를 돌려준다.
+        LoginResponse response = idempotentRequests.execute("login", idempotencyKey,
+                fingerprint(requestLogin.getEmail(), requestLogin.getPassword()),
+                () -> authservice.loginEx(requestLogin, request.getRemoteAddr()),
+                AuthController::copy,
+                AuthController::isLoggedIn);
         if (!(response.getAccessToken().isEmpty())){
             // 쿠키생성
-            Cookie refreshTokenCookie = new Cookie("refreshToken", response.getRefreshToken());
-            refreshTokenCookie.setHttpOnly(true);   // XSS 공격에 대응, JS에서 읽을 수 없음
-            refreshTokenCookie.setSecure(false);    // 개발기간만 false, https를 적용하면 true
-            refreshTokenCookie.setPath("/");        // 모든 경로에 쿠키 전송
-            httpResponse.addCookie( refreshTokenCookie );
+            addRefreshTokenCookie(httpResponse, response.getRefreshToken());
 
             // LoginResponse 인스턴스에 있는 refreshToken정보를 삭제.
             response.setRefreshToken(null);
@@ -87,6 +114,36 @@ public class AuthController {
         }
     }
 
+    /**
+     * 같은 요청인지 확인하기 위한 요청 내용(IdempotentRequests에서 HMAC 값으로만 보관)
+     */
+    private static String fingerprint(String email, String... fields) {
+        StringBuilder builder = new StringBuilder(email == null ? "" : email.trim().toLowerCase());
+        for (String field : fields) {
+            builder.append('\0').append(field);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * 재시도에 그대로 돌려줄 로그인 결과인지(로그인 실패 결과는 보관하지 않음)
+     */
+    private static boolean isLoggedIn(LoginResponse response) {
+        return response.getAccessToken() != null && !response.getAccessToken().isEmpty();
+    }
+
+    private static LoginResponse copy(LoginResponse response) {
+        return new LoginResponse(response.getAccessToken(), response.getRefreshToken(), response.getUser());
+    }
+
+    private void addRefreshTokenCookie(HttpServletResponse httpResponse, String refreshToken) {
+        Cookie refreshTokenCookie = new Cookie("refreshToken", refreshToken);
+        refreshTokenCookie.setHttpOnly(true);   // XSS 공격에 대응, JS에서 읽을 수 없음
+        refreshTokenCookie.setSecure(false);    // 개발기간만 false, https를 적용하면 true
+        refreshTokenCookie.setPath("/");        // 모든 경로에 쿠키 전송
+        httpResponse.addCookie( refreshTokenCookie );
+    }
+
     public String extractRefreshTokenFromBody(TokenRefreshRequest body){
         if (body == null || body.getRefreshToken() == null || body.getRefreshToken().isBlank())
             return null;
@@ -117,7 +174,8 @@ public class AuthController {
     @PostMapping("/refresh")
     @SuppressWarnings("NullableProblems")
     public ResponseEntity<ApiResponse<TokenRefreshResponse>> refresh(
-            HttpServletRequest request                                     // web용
+            HttpServletRequest request,                                    // web용
+            HttpServletResponse httpResponse
             //@RequestBody(required = false) @Valid TokenRefreshRequest body  //mobile
     ) {
         //String refreshToken = extractRefreshTokenFromBody( body );
@@ -128,12 +186,47 @@ public class AuthController {
         }
 
         // AccessToken을 재발급한 Response 객체를 반환 받음.
-        TokenRefreshResponse tokenRefreshResponse = authservice.refreshAccessToken(refreshToken);
+        // 같은 refresh token으로 동시에 들어온 요청은 한 번만 처리한다.
+        TokenRefreshResponse tokenRefreshResponse = refreshCoalescer.refresh(refreshToken, authservice::refreshAccessToken);
+        // rotation으로 새로 발급된 Refresh Token을 쿠키로 전달
+        addRefreshTokenCookie(httpResponse, tokenRefreshResponse.getRefreshToken());
         tokenRefreshResponse.setRefreshToken(null);
 
         return ResponseEntity.ok(ApiResponse.success("Access Token 재발급 성공", tokenRefreshResponse));
     }
 
+    /**
+     * access token을 만료 전에 폐기한다.(탈취된 토큰 차단)
+     * body에 토큰이 없으면 요청에 사용한 토큰을 폐기한다.
+     * {
+     *     "accessToken": "eyJ..."
+     * }
+     */
+    @PostMapping("/token/revoke")
+    public ResponseEntity<ApiResponse<Void>> revokeAccessToken(
+            @AuthenticationPrincipal AuthUser user,
+            @RequestBody(required = false) TokenRevokeRequest body,
+            HttpServletRequest request
+    ) {
+        String accessToken = body != null && StringUtils.hasText(body.getAccessToken())
+                ? body.getAccessToken()
+                : extractBearerToken(request);
+        if (accessToken == null) {
+            throw new TokenException("폐기할 Access Token이 없습니다.");
+        }
+
+        authservice.revokeAccessToken(user, accessToken);
+        return ResponseEntity.ok(ApiResponse.success("Access Token 폐기 성공"));
+    }
+
+    private String extractBearerToken(HttpServletRequest request) {
+        String bearerToken = request.getHeader("Authorization");
+        if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
+            return bearerToken.substring(7);
+        }
+        return null;
+    }
+
     @GetMapping("/logout")
     public void logout() {
 
@@ -2,7 +2,7 @@ package com.example.auth.controller;
 
 import com.example.auth.dto.ApiResponse;
 import com.example.auth.dto.ImageUploadResponse;
-import com.example.auth.entity.User;
+import com.example.auth.security.AuthUser;
 import com.example.auth.service.ImageStorageService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -22,12 +22,12 @@ public class ImageUploadController {
 
     @PostMapping(value = "/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<ApiResponse<ImageUploadResponse>> uploadImage(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthUser user,
             @RequestParam("file")MultipartFile file
             ) {
 
         // service 일시키기
-        log.info("이미지 업로드 요청됨 - userId: {}, 파일명: {}",user.getId(), file.getOriginalFilename());
+        log.info("이미지 업로드 요청됨 - userId: {}, 파일명: {}",user.id(), file.getOriginalFilename());
         ImageUploadResponse response = imageStorageService.store(file);
 
         return ResponseEntity.ok(ApiResponse.success("이미지 업로드 성공", response));
@@ -37,7 +37,7 @@ public class ImageUploadController {
     // 선택적 옵션 사항
     @DeleteMapping("/image/{fileName}")
     public ResponseEntity<ApiResponse<Void>> deleteImage(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthUser user,
             @PathVariable String fileName
     ) {
         imageStorageService.delete(fileName);
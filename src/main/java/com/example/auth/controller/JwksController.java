@@ -0,0 +1,41 @@
+package com.example.auth.controller;
+
+import com.example.auth.config.JwtSigningProperties;
+import com.example.auth.security.JwtTokenProvider;
+import com.example.auth.security.TokenDigests;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * 토큰 검증용 공개키(JWKS)를 제공하는 컨트롤러
+ * 다른 서비스는 이 공개키를 캐시해 두고 네트워크 호출 없이 토큰을 직접 검증한다.
+ */
+@RestController
+@RequiredArgsConstructor
+public class JwksController {
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final JwtSigningProperties jwtSigningProperties;
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<String> jwks(WebRequest webRequest) {
+        String jwksJson = jwtTokenProvider.getJwksJson();
+        String eTag = "\"" + TokenDigests.sha256Key(jwksJson) + "\"";
+
+        // 클라이언트가 가지고 있는 JWKS가 같으면 304(Not Modified)를 반환
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(jwtSigningProperties.getJwksMaxAge()).cachePublic())
+                .eTag(eTag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jwksJson);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.auth.controller;
+
+import com.example.auth.dto.ApiResponse;
+import com.example.auth.logging.TraceTargets;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 실행 중에 특정 사용자 또는 요청의 debug 로그를 모두 출력하도록 설정하는 관리자용 컨트롤러
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/log-trace")
+public class LogTraceController {
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<Map<String, Set<String>>>> targets() {
+        Map<String, Set<String>> targets = Map.of(
+                "userIds", TraceTargets.getUserIds(),
+                "requestIds", TraceTargets.getRequestIds()
+        );
+        return ResponseEntity.ok(ApiResponse.success("추적 대상 조회 성공", targets));
+    }
+
+    @PostMapping("/users/{userId}")
+    public ResponseEntity<ApiResponse<Void>> traceUser(@PathVariable Long userId) {
+        TraceTargets.addUser(userId.toString());
+        log.info("사용자 로그 추적 시작 - userId: {}", userId);
+        return ResponseEntity.ok(ApiResponse.success("사용자 로그 추적 시작"));
+    }
+
+    @DeleteMapping("/users/{userId}")
+    public ResponseEntity<ApiResponse<Void>> untraceUser(@PathVariable Long userId) {
+        TraceTargets.removeUser(userId.toString());
+        log.info("사용자 로그 추적 종료 - userId: {}", userId);
+        return ResponseEntity.ok(ApiResponse.success("사용자 로그 추적 종료"));
+    }
+
+    @PostMapping("/requests/{requestId}")
+    public ResponseEntity<ApiResponse<Void>> traceRequest(@PathVariable String requestId) {
+        TraceTargets.addRequest(requestId);
+        log.info("요청 로그 추적 시작 - requestId: {}", requestId);
+        return ResponseEntity.ok(ApiResponse.success("요청 로그 추적 시작"));
+    }
+
+    @DeleteMapping("/requests/{requestId}")
+    public ResponseEntity<ApiResponse<Void>> untraceRequest(@PathVariable String requestId) {
+        TraceTargets.removeRequest(requestId);
+        log.info("요청 로그 추적 종료 - requestId: {}", requestId);
+        return ResponseEntity.ok(ApiResponse.success("요청 로그 추적 종료"));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<Void>> clear() {
+        TraceTargets.clear();
+        return ResponseEntity.ok(ApiResponse.success("모든 로그 추적 종료"));
+    }
+}
@@ -3,10 +3,11 @@ package com.example.auth.controller;
 import com.example.auth.dto.ApiResponse;
 import com.example.auth.dto.UserProfileResponse;
 import com.example.auth.dto.UserProfileUpdateRequest;
-import com.example.auth.entity.User;
 import com.example.auth.exception.InvalidCredentialException;
+import com.example.auth.security.AuthUser;
 import com.example.auth.service.UserService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
@@ -14,6 +15,7 @@ import org.springframework.web.bind.annotation.*;
 import java.util.HashMap;
 import java.util.Map;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/api")
@@ -22,17 +24,19 @@ public class UserController {
 
     @GetMapping("/me")
     public ResponseEntity<ApiResponse<Map<String, Object>>> me(
-            @AuthenticationPrincipal User user
+            @AuthenticationPrincipal AuthUser principal
             ) {
-        System.out.println("현재 사용자 정보 요청: " + user.getEmail());
+        log.debug("현재 사용자 정보 요청 - userId: {}", principal.id());
+        // stateless 인증 모드에서는 토큰에 없는 값(닉네임 등)을 조회해서 채운다.
+        AuthUser user = userService.getCurrentUser(principal);
         Map<String, Object> userInfo = new HashMap<>();
-        userInfo.put("id", user.getId());
-        userInfo.put("email", user.getEmail());
-        userInfo.put("name", user.getNickname());
-        userInfo.put("profileImage", user.getProfileImage());
-        userInfo.put("provider", user.getProvider());
-        userInfo.put("role", user.getRole());
-        userInfo.put("createdAt", user.getCreatedAt());
+        userInfo.put("id", user.id());
+        userInfo.put("email", user.email());
+        userInfo.put("name", user.nickname());
+        userInfo.put("profileImage", user.profileImage());
+        userInfo.put("provider", user.provider());
+        userInfo.put("role", user.role());
+        userInfo.put("createdAt", user.createdAt());
 
         ApiResponse<Map<String, Object>> response = ApiResponse.success("사용자 정보 조회 성공", userInfo);
 
@@ -45,10 +49,10 @@ public class UserController {
      * @return
      */
     @GetMapping("/profile")
-    public ResponseEntity<ApiResponse<UserProfileResponse>> profile(@AuthenticationPrincipal User user) {
-        System.out.println("사용자 프로필 조회 요청");
+    public ResponseEntity<ApiResponse<UserProfileResponse>> profile(@AuthenticationPrincipal AuthUser user) {
+        log.debug("사용자 프로필 조회 요청 - userId: {}", user.id());
         try {
-            UserProfileResponse userprofileResponse = userService.getUserProfile(user.getId());
+            UserProfileResponse userprofileResponse = userService.getUserProfile(user.id());
             ApiResponse<UserProfileResponse> apiResponse = ApiResponse.success("프로필 조회 성공", userprofileResponse);
             return ResponseEntity.ok(apiResponse);
         } catch (InvalidCredentialException ex) {
@@ -58,10 +62,10 @@ public class UserController {
 
     @PutMapping("/profile")
     public ResponseEntity<ApiResponse<UserProfileResponse>> updateProfile(
-            @AuthenticationPrincipal User user,
+            @AuthenticationPrincipal AuthUser user,
             @RequestBody UserProfileUpdateRequest request
             ) {
-        UserProfileResponse response = userService.updateUserProfile(user.getId(), request);
+        UserProfileResponse response = userService.updateUserProfile(user.id(), request);
         ApiResponse<UserProfileResponse> apiResponse = ApiResponse.success("사용자 프로필을 성공적으로 수정.", response);
 
         // json response
@@ -0,0 +1,48 @@
+package com.example.auth.controller;
+
+import com.example.auth.security.AuthUser;
+import com.example.auth.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 관리자용 대량 사용자 등록 컨트롤러
+ * 요청 body(NDJSON 또는 CSV)를 읽으면서 처리하고, 줄마다 결과를 NDJSON으로 바로 응답한다.
+ * 처리 시간이 길어서 async 응답(StreamingResponseBody)의 timeout에 걸리지 않도록 요청 스레드에서 직접 응답을 쓴다.
+ *
+ * curl -X POST -H "Content-Type: text/csv" --data-binary @users.csv /api/admin/users/import
+ */
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/users")
+public class UserImportController {
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final UserImportService userImportService;
+
+    @PostMapping(value = "/import", consumes = {NDJSON, "text/csv"})
+    public void importUsers(
+            @AuthenticationPrincipal AuthUser user,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        log.info("대량 사용자 등록 시작 - 요청: {}, 형식: {}", user.id(), format);
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        userImportService.importUsers(request.getInputStream(), format, response.getOutputStream());
+    }
+}
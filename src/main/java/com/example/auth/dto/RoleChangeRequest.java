@@ -0,0 +1,16 @@
+package com.example.auth.dto;
+
+import com.example.auth.entity.User;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+// 변경할 권한(ROLE_USER, ROLE_ADMIN)
+public class RoleChangeRequest {
+    @NotNull
+    private User.Role role;
+}
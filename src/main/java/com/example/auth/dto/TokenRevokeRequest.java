@@ -0,0 +1,13 @@
+package com.example.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+// 폐기할 access token, 없으면 요청에 사용한 access token을 폐기한다.
+public class TokenRevokeRequest {
+    private String accessToken;
+}
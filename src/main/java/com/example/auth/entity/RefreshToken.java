@@ -5,7 +5,12 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "refresh_tokens")
+@Table(name = "refresh_tokens",
+        uniqueConstraints = @UniqueConstraint(name = "uk_refresh_token_hash", columnNames = "token_hash"),
+        indexes = {
+                @Index(name = "idx_refresh_token_family", columnList = "family_id"),
+                @Index(name = "idx_refresh_token_user_last_used", columnList = "user_id, last_used_at")
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -17,9 +22,21 @@ public class RefreshToken {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(nullable = false, length = 500)
+    /**
+     * 토큰 원문(이전 버전 호환용)
+     * 이제는 저장하지 않고 token_hash만 저장한다. 기존 데이터는 RefreshTokenHashMigration이 token_hash로 옮긴다.
+     */
+    @Deprecated
+    @Column(length = 500)
     private String token;
 
+    /**
+     * 토큰 원문의 SHA-256 digest(32byte), unique index로 조회한다.
+     * 기존 데이터 마이그레이션이 끝나기 전에는 null일 수 있다.
+     */
+    @Column(name = "token_hash", columnDefinition = "BINARY(32)")
+    private byte[] tokenHash;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -33,6 +50,27 @@ public class RefreshToken {
     @Column(name = "last_used_at")
     private LocalDateTime lastUsedAt;
 
+    /**
+     * 로그인 한 번에서 rotation으로 이어지는 토큰들이 공유하는 id
+     * 이미 사용된 토큰이 다시 사용되면 같은 family 전체를 폐기한다.
+     */
+    @Column(name = "family_id", length = 36)
+    private String familyId;
+
+    /**
+     * rotation으로 새 토큰이 발급된 시간, null이면 아직 사용되지 않은 토큰
+     */
+    @Column(name = "rotated_at")
+    private LocalDateTime rotatedAt;
+
+    /**
+     * 여러 서버에서 같은 토큰을 동시에 rotation하는 것을 막기 위한 낙관적 락 버전
+     */
+    @Version
+    @Column(name = "version")
+    @Builder.Default
+    private Long version = 0L;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false,
             foreignKey = @ForeignKey(name = "fk_refresh_token_user"))
@@ -71,4 +109,22 @@ public class RefreshToken {
     public void updateLastUseAt(){
         this.lastUsedAt = LocalDateTime.now();
     }
+
+    /**
+     * rotation으로 새 토큰이 발급되었음을 기록한다.
+     */
+    public void markRotated() {
+        LocalDateTime now = LocalDateTime.now();
+        this.rotatedAt = now;
+        this.lastUsedAt = now;
+    }
+
+    /**
+     * 이미 rotation에 사용된 토큰인지 확인
+     *
+     * @return 사용되었으면 true
+     */
+    public boolean isRotated() {
+        return rotatedAt != null;
+    }
 }
@@ -0,0 +1,66 @@
+package com.example.auth.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * 서버마다 메모리에 가진 캐시(사용자 정보, 세션 epoch, 계정 상태, access token denylist)를
+ * 모든 서버에 반영하기 위한 폐기 이벤트
+ * 변경한 트랜잭션에서 함께 저장하고, 각 서버가 id 순서로 조회해서 자신의 캐시에 적용한다.(RevocationEventPoller)
+ */
+@Entity
+@Table(name = "revocation_events",
+        indexes = @Index(name = "idx_revocation_event_created_at", columnList = "created_at"))
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevocationEvent {
+
+    /**
+     * 증가하는 sequence(AUTO_INCREMENT), 서버는 마지막으로 적용한 id 이후만 조회한다.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    /**
+     * ACCOUNT_VERSION: 변경된(현재) 계정 상태 버전
+     */
+    @Column(name = "version")
+    private Integer version;
+
+    /**
+     * ACCESS_TOKEN: 폐기된 access token의 jti
+     */
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    /**
+     * ACCESS_TOKEN: 폐기된 access token의 만료 시간
+     */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public enum Type {
+        // 사용자, 세션 epoch 캐시 무효화
+        // 지금은 저장하지 않는다.(상태 변경은 ACCOUNT_VERSION으로 저장)
+        // 이전 버전의 서버가 저장한 이벤트를 무중단 배포 중에, 그리고 보관 기간 동안 읽을 수 있도록 남겨둔다.(type은 문자열로 저장됨)
+        USER_CHANGED,
+        // 권한 변경, 비활성화, 모든 기기 로그아웃(이전 계정 상태 버전의 access token 거부)
+        ACCOUNT_VERSION,
+        // access token 하나를 폐기
+        ACCESS_TOKEN
+    }
+}
@@ -67,5 +67,40 @@ public class User {
 
     @Column(name = "profile_image", length = 500)
     private String profileImage;
+
+    /**
+     * 계정 상태 버전
+     * 권한 변경, 비활성화 등 access token에 담긴 정보가 바뀔 때마다 1씩 증가한다.
+     */
+    @Column(name = "account_version")
+    @Builder.Default
+    private Integer accountVersion = 0;
+
+    // 컬럼 추가 이전에 저장된 사용자는 null이므로 0으로 취급
+    public int getAccountVersionOrDefault() {
+        return accountVersion == null ? 0 : accountVersion;
+    }
+
+    /**
+     * 세션 epoch, 모든 기기에서 로그아웃하면 증가한다.
+     * 토큰에는 발급 당시의 값(sep)이 들어가고, 현재 값보다 작은 토큰은 사용할 수 없다.
+     */
+    @Column(name = "session_epoch")
+    @Builder.Default
+    private Integer sessionEpoch = 0;
+
+    // 컬럼 추가 이전에 저장된 사용자는 null이므로 0으로 취급
+    public int getSessionEpochOrDefault() {
+        return sessionEpoch == null ? 0 : sessionEpoch;
+    }
+
+    /**
+     * 계정 상태 버전을 증가시킨다. 이전 버전으로 발급된 access token은 더 이상 사용할 수 없게 된다.
+     * @return 증가된 버전
+     */
+    public int increaseAccountVersion() {
+        this.accountVersion = getAccountVersionOrDefault() + 1;
+        return this.accountVersion;
+    }
 }
 
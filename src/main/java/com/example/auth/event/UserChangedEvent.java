@@ -0,0 +1,10 @@
+package com.example.auth.event;
+
+/**
+ * 사용자 정보(권한, 활성화 여부, 닉네임 등)가 변경되었을 때 발행되는 이벤트
+ * 사용자 정보를 캐시하는 곳에서 이 이벤트를 받아 캐시를 무효화한다.
+ *
+ * @param userId 변경된 사용자 id
+ */
+public record UserChangedEvent(Long userId) {
+}
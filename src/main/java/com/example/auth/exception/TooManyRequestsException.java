@@ -0,0 +1,20 @@
+package com.example.auth.exception;
+
+import java.time.Duration;
+
+/**
+ * 서버가 감당할 수 있는 양보다 요청이 많아서 처리하지 않고 거절할 때 발생시킴(429)
+ * 클라이언트는 retryAfter 이후에 다시 요청한다.(Retry-After 헤더)
+ */
+public class TooManyRequestsException extends RuntimeException {
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
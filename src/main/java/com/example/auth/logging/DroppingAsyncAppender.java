@@ -0,0 +1,73 @@
+package com.example.auth.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AsyncAppenderBase;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 요청 스레드를 막지 않는 비동기 Appender
+ * 로그는 고정 크기 큐(queueSize)에 넣고 별도 스레드가 출력한다.
+ * 큐가 가득 차면 기다리지 않고 로그를 버리며 버린 개수를 센다.
+ *
+ * AsyncAppenderBase는 neverBlock일 때 offer() 결과를 버리고, 큐에 넣는 put()은 private이라 재정의할 수 없다.
+ * 큐 확인과 추가 사이에 다른 스레드가 큐를 채우면 버린 로그를 세지 못하므로
+ * 시작할 때 큐를 가져와서 직접 offer()하고 실패한 로그를 모두 센다.
+ */
+public class DroppingAsyncAppender extends AsyncAppender {
+
+    private static final LongAdder DROPPED = new LongAdder();
+
+    private BlockingQueue<ILoggingEvent> queue;
+
+    public DroppingAsyncAppender() {
+        setNeverBlock(true);
+        // 큐가 가득 찰 때까지는 어떤 레벨의 로그도 버리지 않는다.
+        setDiscardingThreshold(0);
+    }
+
+    @Override
+    public void start() {
+        super.start();
+        if (!isStarted()) {
+            return;
+        }
+        try {
+            Field field = AsyncAppenderBase.class.getDeclaredField("blockingQueue");
+            field.setAccessible(true);
+            @SuppressWarnings("unchecked")
+            BlockingQueue<ILoggingEvent> blockingQueue = (BlockingQueue<ILoggingEvent>) field.get(this);
+            queue = blockingQueue;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // 큐를 가져오지 못하면 AsyncAppender의 기본 동작(버린 개수는 세지 않음)으로 처리한다.
+            addWarn("AsyncAppender 큐를 가져오지 못해서 버린 로그 개수를 셀 수 없습니다.", e);
+        }
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        if (queue == null) {
+            super.append(event);
+            return;
+        }
+        // AsyncAppenderBase.append()와 같은 순서(버릴 로그 확인 -> caller data 등 준비 -> 큐에 추가)
+        if (getDiscardingThreshold() > 0 && getRemainingCapacity() < getDiscardingThreshold() && isDiscardable(event)) {
+            DROPPED.increment();
+            return;
+        }
+        preprocess(event);
+        if (!queue.offer(event)) {
+            DROPPED.increment();
+        }
+    }
+
+    /**
+     * @return 큐가 가득 차서 버려진 로그 개수
+     */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.auth.logging;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+/**
+ * 로그 파이프라인 지표를 Micrometer에 등록
+ */
+@Component
+public class LoggingMetrics {
+
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("logging.async.dropped", this, metrics -> DroppingAsyncAppender.getDroppedCount())
+                .description("큐가 가득 차서 버려진 로그 개수")
+                .register(meterRegistry);
+    }
+}
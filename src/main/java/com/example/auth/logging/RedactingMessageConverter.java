@@ -0,0 +1,29 @@
+package com.example.auth.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.regex.Pattern;
+
+/**
+ * 로그 메시지에 포함된 JWT를 가려서 출력하는 Converter
+ * logback-spring.xml에서 %m, %msg, %message 대신 사용하도록 등록한다.
+ */
+public class RedactingMessageConverter extends MessageConverter {
+
+    // header.payload.signature 형식의 JWT (header는 항상 eyJ로 시작)
+    private static final Pattern JWT = Pattern.compile("eyJ[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]*\\.[A-Za-z0-9_-]*");
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return redact(super.convert(event));
+    }
+
+    public static String redact(String message) {
+        // 대부분의 메시지에는 토큰이 없으므로 정규식 검사 전에 빠르게 걸러낸다.
+        if (message == null || !message.contains("eyJ")) {
+            return message;
+        }
+        return JWT.matcher(message).replaceAll("[REDACTED_JWT]");
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.auth.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * logger(카테고리)별로 INFO 이하 로그를 일정 비율만 출력하는 TurboFilter
+ * WARN, ERROR 로그는 항상 출력한다.
+ *
+ * logback-spring.xml 설정 예)
+ * <turboFilter class="com.example.auth.logging.SamplingTurboFilter">
+ *     <sample>com.example.auth.security=0.01</sample>
+ * </turboFilter>
+ */
+public class SamplingTurboFilter extends TurboFilter {
+
+    // logger 이름 prefix -> 출력 비율(0.0 ~ 1.0)
+    private final Map<String, Double> rates = new ConcurrentHashMap<>();
+    // logger 이름별로 찾은 비율을 저장해서 prefix 검색을 한 번만 하도록 한다.
+    private final Map<String, Double> resolved = new ConcurrentHashMap<>();
+
+    /**
+     * "logger이름=비율" 형식의 샘플링 설정을 추가한다.(logback 설정 파일에서 호출)
+     * @param sample 예) com.example.auth.security=0.01
+     */
+    public void addSample(String sample) {
+        int index = sample.lastIndexOf('=');
+        if (index <= 0) {
+            addWarn("잘못된 샘플링 설정입니다: " + sample);
+            return;
+        }
+        rates.put(sample.substring(0, index).trim(), Double.parseDouble(sample.substring(index + 1).trim()));
+        resolved.clear();
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (rates.isEmpty() || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+        // 출력되지 않을 레벨이면 샘플링할 필요가 없다.
+        // (isEnabledFor()는 TurboFilter를 다시 호출하므로 effective level로 직접 비교)
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+
+        double rate = resolved.computeIfAbsent(logger.getName(), this::resolveRate);
+        if (rate >= 1.0) {
+            return FilterReply.NEUTRAL;
+        }
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    // 가장 길게 일치하는 prefix의 비율을 사용한다.
+    private double resolveRate(String loggerName) {
+        String matched = null;
+        for (String prefix : rates.keySet()) {
+            if (loggerName.startsWith(prefix) && (matched == null || prefix.length() > matched.length())) {
+                matched = prefix;
+            }
+        }
+        return matched == null ? 1.0 : rates.get(matched);
+    }
+}
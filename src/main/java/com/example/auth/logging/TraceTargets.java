@@ -0,0 +1,73 @@
+package com.example.auth.logging;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 실행 중에 debug 로그를 전부 출력할 대상(사용자 id, 요청 id) 목록
+ * logback의 TurboFilter에서 사용해야 하므로 Spring Bean이 아닌 static 저장소로 둔다.
+ */
+public final class TraceTargets {
+
+    // MDC key
+    public static final String MDC_USER_ID = "userId";
+    public static final String MDC_REQUEST_ID = "requestId";
+
+    private static final Set<String> USER_IDS = ConcurrentHashMap.newKeySet();
+    private static final Set<String> REQUEST_IDS = ConcurrentHashMap.newKeySet();
+    // 대상이 하나도 없을 때 Set 조회를 생략하기 위한 플래그
+    private static volatile boolean active = false;
+
+    private TraceTargets() {
+    }
+
+    public static boolean isActive() {
+        return active;
+    }
+
+    public static boolean isTracedUser(String userId) {
+        return userId != null && USER_IDS.contains(userId);
+    }
+
+    public static boolean isTracedRequest(String requestId) {
+        return requestId != null && REQUEST_IDS.contains(requestId);
+    }
+
+    public static void addUser(String userId) {
+        USER_IDS.add(userId);
+        refresh();
+    }
+
+    public static void removeUser(String userId) {
+        USER_IDS.remove(userId);
+        refresh();
+    }
+
+    public static void addRequest(String requestId) {
+        REQUEST_IDS.add(requestId);
+        refresh();
+    }
+
+    public static void removeRequest(String requestId) {
+        REQUEST_IDS.remove(requestId);
+        refresh();
+    }
+
+    public static void clear() {
+        USER_IDS.clear();
+        REQUEST_IDS.clear();
+        refresh();
+    }
+
+    public static Set<String> getUserIds() {
+        return Set.copyOf(USER_IDS);
+    }
+
+    public static Set<String> getRequestIds() {
+        return Set.copyOf(REQUEST_IDS);
+    }
+
+    private static void refresh() {
+        active = !USER_IDS.isEmpty() || !REQUEST_IDS.isEmpty();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.auth.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * 추적 대상(TraceTargets) 사용자 또는 요청의 로그는 로그 레벨, 샘플링과 상관없이 모두 출력한다.
+ * 추적 대상이 없으면 아무 일도 하지 않는다.(NEUTRAL)
+ */
+public class TraceTurboFilter extends TurboFilter {
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!TraceTargets.isActive()) {
+            return FilterReply.NEUTRAL;
+        }
+        if (TraceTargets.isTracedUser(MDC.get(TraceTargets.MDC_USER_ID))
+                || TraceTargets.isTracedRequest(MDC.get(TraceTargets.MDC_REQUEST_ID))) {
+            return FilterReply.ACCEPT;
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
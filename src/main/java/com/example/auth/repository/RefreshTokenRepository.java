@@ -1,12 +1,15 @@
 package com.example.auth.repository;
 
 import com.example.auth.entity.RefreshToken;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -18,8 +21,85 @@ public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long
      * @param token Refresh 토큰 문자열
      * @return RefreshToken Entity by Optional(Null safety)
      */
+    @Deprecated
     Optional<RefreshToken> findByToken(String token);
 
+    /**
+     * 토큰 digest로 RefreshToken Entity를 가져온다.(unique index 조회)
+     * @param tokenHash Refresh 토큰 문자열의 SHA-256 digest
+     * @return RefreshToken Entity by Optional(Null safety)
+     */
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * token_hash가 아직 채워지지 않은 이전 데이터를 가져온다.(마이그레이션용)
+     * @return 최대 500개의 RefreshToken
+     */
+    @SuppressWarnings("deprecation")
+    List<RefreshToken> findTop500ByTokenHashIsNullAndTokenIsNotNull();
+
+    /**
+     * 같은 family의 토큰을 한 번의 UPDATE로 모두 폐기한다.(family_id index 사용)
+     * @param familyId token family id
+     * @return 폐기된 토큰 수
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.version = rt.version + 1 " +
+            "WHERE rt.familyId = :familyId AND rt.revoked = false")
+    int revokeFamily(@Param("familyId") String familyId);
+
+    /**
+     * 토큰을 사용됨(rotated)으로 표시한다. version이 같을 때만 변경하는 낙관적 락 UPDATE
+     * @param id 토큰 id
+     * @param version 조회할 때의 version
+     * @param rotatedAt 사용 시간
+     * @return 변경된 row 수(다른 요청이 먼저 변경했으면 0)
+     */
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.rotatedAt = :rotatedAt, rt.lastUsedAt = :rotatedAt, rt.version = rt.version + 1 " +
+            "WHERE rt.id = :id AND rt.version = :version AND rt.rotatedAt IS NULL AND rt.revoked = false")
+    int markRotated(@Param("id") Long id, @Param("version") Long version, @Param("rotatedAt") LocalDateTime rotatedAt);
+
+    @Modifying
+    @Query("UPDATE RefreshToken rt SET rt.revoked = true, rt.version = rt.version + 1 WHERE rt.id = :id AND rt.revoked = false")
+    int revokeById(@Param("id") Long id);
+
+    /**
+     * 만료되었거나 폐기된 토큰의 id를 id 순서로 가져온다.(keyset pagination)
+     * @param lastId 이전 batch의 마지막 id
+     * @param now 현재 시간
+     * @param pageable 가져올 개수
+     * @return 삭제 대상 id 목록
+     */
+    @Query("SELECT rt.id FROM RefreshToken rt " +
+            "WHERE rt.id > :lastId AND (rt.expiresAt < :now OR rt.revoked = true) ORDER BY rt.id")
+    List<Long> findPurgeableIds(@Param("lastId") long lastId, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken rt WHERE rt.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
+
+    /**
+     * 사용자의 사용 가능한(폐기, 사용, 만료되지 않은) 토큰 수
+     * @param userId 사용자 id
+     * @param now 현재 시간
+     * @return 토큰 수
+     */
+    @Query("SELECT COUNT(rt) FROM RefreshToken rt WHERE rt.user.id = :userId " +
+            "AND rt.revoked = false AND rt.rotatedAt IS NULL AND rt.expiresAt > :now")
+    long countLiveByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    /**
+     * 사용자의 사용 가능한 토큰 id를 가장 오래 사용되지 않은 순서로 가져온다.((user_id, last_used_at) index 사용)
+     * @param userId 사용자 id
+     * @param now 현재 시간
+     * @param pageable 가져올 개수
+     * @return 토큰 id 목록
+     */
+    @Query("SELECT rt.id FROM RefreshToken rt WHERE rt.user.id = :userId " +
+            "AND rt.revoked = false AND rt.rotatedAt IS NULL AND rt.expiresAt > :now ORDER BY rt.lastUsedAt, rt.id")
+    List<Long> findLeastRecentlyUsedLiveIds(@Param("userId") Long userId, @Param("now") LocalDateTime now, Pageable pageable);
+
     @Modifying
     @Query("DELETE FROM RefreshToken rt WHERE rt.user.email = :email")
     int deleteByUserEmail(@Param("email") String email);
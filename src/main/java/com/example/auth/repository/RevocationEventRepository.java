@@ -0,0 +1,50 @@
+package com.example.auth.repository;
+
+import com.example.auth.entity.RevocationEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+@SuppressWarnings("NullableProblems")
+public interface RevocationEventRepository extends JpaRepository<RevocationEvent, Long> {
+
+    /**
+     * 마지막으로 적용한 id 이후의 이벤트를 id 순서로 가져온다.(pk range scan)
+     * @param id 마지막으로 적용한 id
+     * @param pageable 최대 개수
+     * @return 이벤트 목록
+     */
+    List<RevocationEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * 해당 시간 이후에 저장된 첫 번째 이벤트(서버 시작 시 적용을 시작할 위치)
+     * @param createdAt 기준 시간
+     * @return 이벤트
+     */
+    Optional<RevocationEvent> findFirstByCreatedAtGreaterThanEqualOrderByIdAsc(LocalDateTime createdAt);
+
+    @Query("SELECT MAX(e.id) FROM RevocationEvent e")
+    Optional<Long> findMaxId();
+
+    /**
+     * 보관 기간이 지난 이벤트 id를 가져온다.(created_at index 사용)
+     * @param createdAt 기준 시간
+     * @param pageable 최대 개수
+     * @return 이벤트 id 목록
+     */
+    @Query("SELECT e.id FROM RevocationEvent e WHERE e.createdAt < :createdAt ORDER BY e.createdAt")
+    List<Long> findIdsCreatedBefore(@Param("createdAt") LocalDateTime createdAt, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM RevocationEvent e WHERE e.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+}
@@ -1,9 +1,14 @@
 package com.example.auth.repository;
 
 import com.example.auth.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -30,4 +35,58 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return 사용자 정보(Optional)
      */
     Optional<User> findByProviderAndProviderId(String provider, String providerId);
+
+    /**
+     * 사용자의 세션 epoch만 조회한다.
+     * @param id 사용자 id
+     * @return 세션 epoch(컬럼 값이 없으면 0)
+     */
+    @Query("SELECT COALESCE(u.sessionEpoch, 0) FROM User u WHERE u.id = :id")
+    Optional<Integer> findSessionEpochById(@Param("id") Long id);
+
+    /**
+     * 사용자의 세션 epoch와 계정 상태 버전을 1 증가시킨다.(한 row UPDATE)
+     * 계정 상태 버전도 올려서 DB를 조회하지 않는 stateless 인증 모드에서도 이전 access token을 거부할 수 있게 한다.
+     * @param id 사용자 id
+     * @return 변경된 row 수
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.sessionEpoch = COALESCE(u.sessionEpoch, 0) + 1, "
+            + "u.accountVersion = COALESCE(u.accountVersion, 0) + 1 WHERE u.id = :id")
+    int incrementSessionEpoch(@Param("id") Long id);
+
+    /**
+     * 사용자의 계정 상태 버전만 조회한다.
+     * @param id 사용자 id
+     * @return 계정 상태 버전(컬럼 값이 없으면 0)
+     */
+    @Query("SELECT COALESCE(u.accountVersion, 0) FROM User u WHERE u.id = :id")
+    Optional<Integer> findAccountVersionById(@Param("id") Long id);
+
+    /**
+     * 비밀번호 해시를 바꾼다. 읽은 뒤에 다른 요청이 비밀번호를 바꿨으면 변경하지 않는다.(조건부 UPDATE)
+     * @param id 사용자 id
+     * @param oldPassword 읽었을 때의 비밀번호 해시
+     * @param newPassword 새 비밀번호 해시
+     * @return 변경된 row 수
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int updatePasswordIfUnchanged(@Param("id") Long id,
+                                  @Param("oldPassword") String oldPassword,
+                                  @Param("newPassword") String newPassword);
+
+    /**
+     * id 이후의 사용자 이메일을 id 순서로 가져온다.(keyset 방식으로 전체 이메일을 나누어 읽기 위해 사용)
+     * @param lastId 이전 batch의 마지막 id
+     * @param pageable 최대 개수
+     * @return id, email 목록
+     */
+    @Query("SELECT u.id AS id, u.email AS email FROM User u WHERE u.id > :lastId ORDER BY u.id")
+    List<EmailView> findEmailsAfterId(@Param("lastId") Long lastId, Pageable pageable);
+
+    interface EmailView {
+        Long getId();
+        String getEmail();
+    }
 }
@@ -0,0 +1,169 @@
+package com.example.auth.security;
+
+import com.example.auth.support.BloomFilter;
+import com.example.auth.support.TimingWheel;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 만료 전에 폐기된 access token 목록(denylist)
+ * JwtAuthenticationFilter가 요청마다 확인한다.
+ *
+ * - Bloom filter를 정확한 집합(jti -> 만료 시간) 앞에 둔다.
+ *   대부분의 토큰은 폐기되지 않았으므로 Bloom filter의 비트 몇 개만 확인하고 끝난다.
+ * - 토큰이 원래 만료되는 시간이 지나면 timing wheel이 집합에서 제거한다.(만료된 토큰은 어차피 사용할 수 없음)
+ * - Bloom filter는 삭제를 지원하지 않으므로 제거된 항목이 많아지면 남은 항목으로 새로 만들어서 교체한다.
+ * - 저장 개수는 max-size로 제한한다.
+ * - 조회는 lock이 없고, 추가와 filter 교체만 lock으로 순서를 맞춘다.
+ */
+@Slf4j
+@Component
+public class AccessTokenDenylist {
+    // timing wheel 한 바퀴의 slot 수(tick이 1초이면 약 68분)
+    private static final int WHEEL_SIZE = 4096;
+    // Bloom filter를 다시 만들지 판단하는 최소 제거 항목 수
+    private static final int MIN_STALE_FOR_REBUILD = 1024;
+
+    private final int maxSize;
+    private final double falsePositiveProbability;
+
+    // key: jti, value: 토큰 만료 시간(epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final TimingWheel<String> expiryWheel;
+    private final Object writeLock = new Object();
+
+    private volatile BloomFilter bloomFilter;
+    // 현재 Bloom filter에 추가된 항목 수(writeLock 안에서만 변경)
+    private int bloomInsertions;
+
+    private final LongAdder falsePositives = new LongAdder();
+
+    public AccessTokenDenylist(
+            MeterRegistry meterRegistry,
+            @Value("${auth.access-token-denylist.max-size:100000}") int maxSize,
+            @Value("${auth.access-token-denylist.false-positive-probability:0.01}") double falsePositiveProbability,
+            @Value("${auth.access-token-denylist.tick:PT1S}") Duration tick
+    ) {
+        this.maxSize = maxSize;
+        this.falsePositiveProbability = falsePositiveProbability;
+        this.bloomFilter = new BloomFilter(maxSize, falsePositiveProbability);
+        this.expiryWheel = new TimingWheel<>(tick, WHEEL_SIZE, System.currentTimeMillis());
+
+        Gauge.builder("auth.access.token.denylist.size", revoked, Map::size)
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.access.token.denylist.false.positives", falsePositives, LongAdder::sum)
+                .register(meterRegistry);
+        log.debug("access token denylist - Bloom filter {} bytes, hash {}개",
+                bloomFilter.sizeInBytes(), bloomFilter.hashFunctions());
+    }
+
+    /**
+     * access token을 만료 시간까지 사용할 수 없도록 등록한다.
+     * @param token 검증된 access token
+     * @return 등록했거나 이미 만료된 토큰이면 true, jti가 없거나 목록이 가득 찼으면 false
+     */
+    public boolean revoke(VerifiedToken token) {
+        if (token.expiresAt() == null) {
+            return false;
+        }
+        return revoke(token.tokenId(), token.expiresAt().toEpochMilli());
+    }
+
+    /**
+     * 다른 서버에서 폐기된 토큰을 등록할 때 사용한다.(RevocationEventPoller)
+     * @param tokenId 토큰의 jti
+     * @param expiresAt 토큰 만료 시간(epoch millis)
+     * @return 등록했거나 이미 만료된 토큰이면 true, jti가 없거나 목록이 가득 찼으면 false
+     */
+    public boolean revoke(String tokenId, long expiresAt) {
+        if (tokenId == null) {
+            return false;
+        }
+        if (expiresAt <= System.currentTimeMillis()) {
+            return true;
+        }
+
+        synchronized (writeLock) {
+            if (revoked.containsKey(tokenId)) {
+                return true;
+            }
+            if (revoked.size() >= maxSize) {
+                log.warn("access token denylist가 가득 찼습니다 - {}건", revoked.size());
+                return false;
+            }
+            // 집합에 먼저 넣어야 Bloom filter에서 찾은 조회가 집합에서도 찾을 수 있다.
+            revoked.put(tokenId, expiresAt);
+            if (bloomInsertions >= maxSize) {
+                rebuildBloomFilter();
+            } else {
+                bloomFilter.put(tokenId);
+                bloomInsertions++;
+            }
+        }
+        expiryWheel.schedule(tokenId, expiresAt);
+        return true;
+    }
+
+    /**
+     * 폐기된 토큰인지 확인한다.
+     * @param token 검증된 access token
+     * @return 폐기되었으면 true
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        String tokenId = token.tokenId();
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        if (revoked.containsKey(tokenId)) {
+            return true;
+        }
+        falsePositives.increment();
+        return false;
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * 만료 시간이 지난 항목을 제거하고, 제거된 항목이 많으면 Bloom filter를 다시 만든다.
+     */
+    @Scheduled(fixedDelayString = "${auth.access-token-denylist.tick:PT1S}")
+    public void expire() {
+        int removed = expiryWheel.advance(System.currentTimeMillis(), revoked::remove);
+        if (removed == 0) {
+            return;
+        }
+        synchronized (writeLock) {
+            int stale = bloomInsertions - revoked.size();
+            if (stale >= MIN_STALE_FOR_REBUILD && stale > revoked.size()) {
+                rebuildBloomFilter();
+            }
+        }
+    }
+
+    /**
+     * 현재 항목으로 새 Bloom filter를 만들어 교체한다.(writeLock 안에서 호출)
+     * 교체 전까지 조회는 이전 filter(현재 항목을 모두 포함)를 사용한다.
+     */
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(maxSize, falsePositiveProbability);
+        int inserted = 0;
+        for (String tokenId : revoked.keySet()) {
+            rebuilt.put(tokenId);
+            inserted++;
+        }
+        bloomFilter = rebuilt;
+        bloomInsertions = inserted;
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.auth.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 계정 상태가 바뀐 사용자 목록(메모리)
+ * stateless 인증 모드에서는 DB를 조회하지 않으므로, 권한 변경/비활성화된 사용자의
+ * 이전 버전 access token을 이 목록으로 거부한다.
+ *
+ * 이전 버전의 access token은 최대 access token 만료 시간까지만 살아있으므로
+ * 항목도 그 시간이 지나면 제거한다. 따라서 크기는 최근 access token 만료 시간 동안 바뀐 계정 수로 제한된다.
+ */
+@Slf4j
+@Component
+public class AccountRevocationRegistry {
+
+    // userId -> 유효한 최소 계정 상태 버전과 항목 만료 시간
+    private final Map<Long, Revocation> revocations = new ConcurrentHashMap<>();
+    private final long retentionMillis;
+
+    public AccountRevocationRegistry(JwtTokenProvider jwtTokenProvider) {
+        this.retentionMillis = jwtTokenProvider.getAccessTokenExpiration();
+    }
+
+    /**
+     * currentVersion 보다 낮은 버전으로 발급된 access token을 거부하도록 등록한다.
+     * @param userId 사용자 id
+     * @param currentVersion 변경된(현재) 계정 상태 버전
+     */
+    public void revokeBefore(Long userId, int currentVersion) {
+        long now = System.currentTimeMillis();
+        revocations.merge(userId, new Revocation(currentVersion, now + retentionMillis),
+                (oldValue, newValue) -> oldValue.minVersion() > newValue.minVersion() ? oldValue : newValue);
+        // 쓰기는 드물게 발생하므로 이때 만료된 항목을 정리한다.
+        revocations.values().removeIf(revocation -> revocation.expiresAtMillis() <= now);
+    }
+
+    /**
+     * @param userId 사용자 id
+     * @param tokenVersion access token에 담긴 계정 상태 버전
+     * @return 더 이상 사용할 수 없는 토큰이면 true
+     */
+    public boolean isRevoked(Long userId, int tokenVersion) {
+        Revocation revocation = revocations.get(userId);
+        if (revocation == null) {
+            return false;
+        }
+        if (revocation.expiresAtMillis() <= System.currentTimeMillis()) {
+            revocations.remove(userId, revocation);
+            return false;
+        }
+        return tokenVersion < revocation.minVersion();
+    }
+
+    private record Revocation(int minVersion, long expiresAtMillis) {
+    }
+}
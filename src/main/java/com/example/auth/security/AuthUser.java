@@ -0,0 +1,84 @@
+package com.example.auth.security;
+
+import com.example.auth.entity.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SecurityContext에 저장되는 인증된 사용자(principal) 정보
+ * JPA Entity(User) 대신 필요한 값만 담은 불변 객체를 사용한다.
+ * 컨트롤러에서는 @AuthenticationPrincipal AuthUser 로 받는다.
+ *
+ * @param id           사용자 id
+ * @param email        사용자 이메일
+ * @param nickname     닉네임
+ * @param role         권한
+ * @param provider     가입 경로(LOCAL, KAKAO 등)
+ * @param profileImage 프로필 이미지 URL
+ * @param createdAt    가입 시간
+ */
+public record AuthUser(
+        Long id,
+        String email,
+        String nickname,
+        User.Role role,
+        String provider,
+        String profileImage,
+        LocalDateTime createdAt
+) {
+    // 권한 목록은 권한마다 하나만 만들어서 공유한다.
+    private static final Map<User.Role, List<GrantedAuthority>> AUTHORITIES = createAuthorities();
+
+    public static AuthUser from(User user) {
+        return new AuthUser(
+                user.getId(),
+                user.getEmail(),
+                user.getNickname(),
+                user.getRole(),
+                user.getProvider(),
+                user.getProfileImage(),
+                user.getCreatedAt()
+        );
+    }
+
+    /**
+     * access token의 claim만으로 만드는 사용자 정보(stateless 인증 모드)
+     * 토큰에 없는 닉네임, 프로필 이미지 등은 null이다.(필요한 곳에서 UserService.getCurrentUser()로 조회)
+     */
+    public static AuthUser fromToken(VerifiedToken token) {
+        return new AuthUser(token.userId(), token.subject(), null, User.Role.valueOf(token.role()), null, null, null);
+    }
+
+    /**
+     * @return 토큰 claim만으로 만든 사용자 정보이면 true(닉네임은 필수값이므로 DB에서 읽었으면 항상 있음)
+     */
+    public boolean isFromToken() {
+        return nickname == null;
+    }
+
+    public List<GrantedAuthority> authorities() {
+        return authoritiesOf(role);
+    }
+
+    /**
+     * @param role 권한
+     * @return 해당 권한의 공유(불변) 권한 목록
+     */
+    public static List<GrantedAuthority> authoritiesOf(User.Role role) {
+        return AUTHORITIES.get(role);
+    }
+
+    private static Map<User.Role, List<GrantedAuthority>> createAuthorities() {
+        Map<User.Role, List<GrantedAuthority>> map = new EnumMap<>(User.Role.class);
+        for (User.Role role : User.Role.values()) {
+            map.put(role, List.of(new SimpleGrantedAuthority(role.name())));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+}
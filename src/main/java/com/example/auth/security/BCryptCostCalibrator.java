@@ -0,0 +1,71 @@
+package com.example.auth.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * 서버에서 BCrypt 해싱 시간을 측정해서 목표 시간에 가장 가까운 cost(work factor)를 고른다.
+ * 서버마다 시작할 때 실행하지 않고, 배포할 서버 사양에서 한 번 실행해서 나온 cost를
+ * 모든 서버의 auth.password-hashing.cost에 설정한다.(gradle calibrateBcrypt)
+ *
+ * BCrypt는 cost가 1 오르면 시간이 두 배가 되므로 낮은 cost로 몇 번 측정한 최솟값으로 각 cost의 시간을 추정한다.
+ * 목표 시간과의 비율(log 기준)이 가장 작은 cost를 고르고, min-cost ~ max-cost 범위로 제한한다.
+ */
+@Slf4j
+public final class BCryptCostCalibrator {
+    // 측정에 사용하는 cost(너무 낮으면 측정 오차가 크고, 높으면 시작이 느려진다)
+    private static final int PROBE_COST = 8;
+    private static final int PROBE_ROUNDS = 5;
+    private static final String PROBE_PASSWORD = "calibration-password";
+
+    private BCryptCostCalibrator() {
+    }
+
+    /**
+     * 측정한 cost를 설정 형식으로 출력한다.
+     * args: [목표 시간(ms, 기본 250)] [최소 cost(기본 10)] [최대 cost(기본 16)]
+     */
+    public static void main(String[] args) {
+        Duration target = Duration.ofMillis(args.length > 0 ? Long.parseLong(args[0]) : 250);
+        int minCost = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int maxCost = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        System.out.println("auth.password-hashing.cost=" + calibrate(target, minCost, maxCost));
+    }
+
+    /**
+     * @param target 해싱 한 번의 목표 시간
+     * @param minCost 최소 cost
+     * @param maxCost 최대 cost
+     * @return 목표 시간에 가장 가까운 cost
+     */
+    public static int calibrate(Duration target, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(PROBE_COST);
+        // 첫 실행은 JIT 컴파일 전이라 느리므로 버린다.
+        probe.encode(PROBE_PASSWORD);
+
+        long probeNanos = Long.MAX_VALUE;
+        for (int i = 0; i < PROBE_ROUNDS; i++) {
+            long start = System.nanoTime();
+            probe.encode(PROBE_PASSWORD);
+            probeNanos = Math.min(probeNanos, System.nanoTime() - start);
+        }
+
+        int cost = minCost;
+        double bestDistance = Double.MAX_VALUE;
+        for (int candidate = minCost; candidate <= maxCost; candidate++) {
+            double estimatedNanos = probeNanos * Math.pow(2, candidate - PROBE_COST);
+            double distance = Math.abs(Math.log(estimatedNanos / target.toNanos()));
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                cost = candidate;
+            }
+        }
+
+        log.info("BCrypt cost 결정 - cost: {}, 예상 시간: {}ms, 목표: {}ms (cost {} 측정: {}us)",
+                cost, Math.round(probeNanos * Math.pow(2, cost - PROBE_COST) / 1_000_000),
+                target.toMillis(), PROBE_COST, probeNanos / 1_000);
+        return cost;
+    }
+}
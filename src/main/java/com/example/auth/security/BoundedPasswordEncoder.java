@@ -0,0 +1,164 @@
+package com.example.auth.security;
+
+import com.example.auth.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt 같은 느린 PasswordEncoder를 전용 스레드 풀에서 실행하는 PasswordEncoder
+ * 로그인이 몰리면 요청 스레드(Tomcat)에서 실행되는 BCrypt가 모든 CPU를 사용해서
+ * /api/me 같은 가벼운 요청까지 느려지므로, 해싱에 사용하는 스레드 수를 제한한다.
+ *
+ * - 예상 대기 시간(대기 중인 작업 수 x 평균 해싱 시간 / 스레드 수)이 queue-budget을 넘으면 바로 429로 거절한다.
+ * - 대기열이 가득 찼거나, 실행 시작 전에 이미 queue-budget 보다 오래 기다린 작업도 거절한다.
+ * - 요청 스레드는 결과가 나올 때까지 기다린다.(CPU는 사용하지 않음)
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+    // 평균 해싱 시간(EWMA) 가중치
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final int threads;
+    private final long queueBudgetNanos;
+
+    // 최근 해싱 시간의 지수 이동 평균
+    private volatile long averageNanos;
+
+    private final Timer waitTimer;
+    private final Timer hashTimer;
+    private final Counter rejected;
+
+    /**
+     * @param delegate 실제 PasswordEncoder
+     * @param threads 해싱 스레드 수
+     * @param queueCapacity 최대 대기 작업 수
+     * @param queueBudget 허용하는 최대 대기 시간
+     * @param meterRegistry 지표 등록
+     */
+    public BoundedPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+                                  Duration queueBudget, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.threads = threads;
+        this.queueBudgetNanos = queueBudget.toNanos();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        this.waitTimer = Timer.builder("auth.password.hashing.wait")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.hashTimer = Timer.builder("auth.password.hashing.duration")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hashing.rejected")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // 해시 문자열만 확인하므로 요청 스레드에서 실행한다.
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 풀을 거치지 않는 실제 PasswordEncoder(대량 가입처럼 자체 스레드 풀에서 해싱하는 작업용)
+     */
+    public PasswordEncoder getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Supplier<T> task) {
+        long expectedWait = executor.getQueue().size() * averageNanos / threads;
+        if (expectedWait > queueBudgetNanos) {
+            throw reject(expectedWait);
+        }
+
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> run(task, submittedAt));
+        } catch (RejectedExecutionException e) {
+            throw reject(queueBudgetNanos);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("비밀번호 해싱 대기 중 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> T run(Supplier<T> task, long submittedAt) {
+        long startedAt = System.nanoTime();
+        long waited = startedAt - submittedAt;
+        waitTimer.record(waited, TimeUnit.NANOSECONDS);
+        if (waited > queueBudgetNanos) {
+            // 요청한 클라이언트가 이미 기다리다 포기했을 수 있는 작업
+            throw reject(averageNanos);
+        }
+
+        T result = task.get();
+        long elapsed = System.nanoTime() - startedAt;
+        hashTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        long average = averageNanos;
+        averageNanos = average == 0 ? elapsed : (long) (average + EWMA_ALPHA * (elapsed - average));
+        return result;
+    }
+
+    private TooManyRequestsException reject(long retryAfterNanos) {
+        rejected.increment();
+        return new TooManyRequestsException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.",
+                Duration.ofNanos(retryAfterNanos));
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.auth.security;
 
-import com.example.auth.repository.RefreshTokenRepository;
+import com.example.auth.service.UserService;
 import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -10,17 +10,15 @@ import org.jspecify.annotations.Nullable;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.web.authentication.logout.LogoutHandler;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class CustomLogoutHandler implements LogoutHandler {
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserService userService;
     private final JwtTokenProvider jwtTokenProvider;
 
     @Override
-    @Transactional
     public void logout(
             HttpServletRequest request,
             HttpServletResponse response,
@@ -33,16 +31,14 @@ public class CustomLogoutHandler implements LogoutHandler {
             return;
         }
         // AccessToken을 검증
-        if (!jwtTokenProvider.validateToken(accessToken)) {
+        VerifiedToken verifiedToken = jwtTokenProvider.verifyIfValid(accessToken).orElse(null);
+        if (verifiedToken == null || !verifiedToken.isAccessToken()) {
             log.warn("유효하지 않은 Access Token으로 로그아웃 처리를 시도했습니다.");
             return;
         }
 
-        // RefreshToken을 db에서 삭제
-        String email = jwtTokenProvider.getEmailFromToken(accessToken);
-        int deletedCount = refreshTokenRepository.deleteByUserEmail(email);
-        System.out.println("삭제된 리프레시 토큰 개수 : " + deletedCount);
-        System.out.println("Deleted Refresh Tokens : " + deletedCount);
+        // 세션 epoch를 증가시켜 이미 발급된 access token, refresh token을 모두 사용할 수 없게 한다.
+        userService.logoutAllSessions(verifiedToken.userId());
 
         // 쿠키 삭제
         Cookie cookie = new Cookie("refreshToken", null);
@@ -0,0 +1,116 @@
+package com.example.auth.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * 지원하는 JWT 서명 알고리즘
+ * HS256은 공유 비밀키(HMAC), ES256과 EdDSA(Ed25519)는 개인키로 서명하고 공개키로 검증한다.
+ */
+public enum JwtAlgorithm {
+    HS256(Jwts.SIG.HS256, null),
+    ES256(Jwts.SIG.ES256, "EC"),
+    EdDSA(Jwts.SIG.EdDSA, "Ed25519");
+
+    private final SecureDigestAlgorithm<?, ?> signatureAlgorithm;
+    private final String keyFactoryAlgorithm;
+
+    JwtAlgorithm(SecureDigestAlgorithm<?, ?> signatureAlgorithm, String keyFactoryAlgorithm) {
+        this.signatureAlgorithm = signatureAlgorithm;
+        this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+    }
+
+    /**
+     * 설정 문자열(대소문자 무시)을 알고리즘으로 변환한다.
+     * @param name 알고리즘 이름
+     * @return JwtAlgorithm
+     */
+    public static JwtAlgorithm of(String name) {
+        for (JwtAlgorithm algorithm : values()) {
+            if (algorithm.name().equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("지원하지 않는 JWT 서명 알고리즘입니다: " + name);
+    }
+
+    @SuppressWarnings("unchecked")
+    <K extends java.security.Key> SecureDigestAlgorithm<K, ?> signatureAlgorithm() {
+        return (SecureDigestAlgorithm<K, ?>) signatureAlgorithm;
+    }
+
+    public boolean isAsymmetric() {
+        return keyFactoryAlgorithm != null;
+    }
+
+    /**
+     * 이 알고리즘의 키로 검증할 수 있는 토큰 header의 alg인지 확인한다.
+     * HMAC 키는 HS256/HS384/HS512를 모두 받는다.
+     * (key ring 도입 이전에는 signWith(key)로 서명해서 secret 길이에 따라 HS384, HS512가 선택되었다.
+     *  secret이 해당 알고리즘에 비해 짧으면 jjwt가 검증을 거절한다.)
+     * @param headerAlgorithm 토큰 header의 alg
+     * @return 검증할 수 있으면 true
+     */
+    public boolean accepts(String headerAlgorithm) {
+        if (this == HS256) {
+            return Jwts.SIG.HS256.getId().equals(headerAlgorithm)
+                    || Jwts.SIG.HS384.getId().equals(headerAlgorithm)
+                    || Jwts.SIG.HS512.getId().equals(headerAlgorithm);
+        }
+        return name().equals(headerAlgorithm);
+    }
+
+    /**
+     * 새로운 키쌍을 생성한다.(비대칭 알고리즘 전용)
+     */
+    KeyPair generateKeyPair() {
+        return switch (this) {
+            case ES256 -> Jwts.SIG.ES256.keyPair().build();
+            case EdDSA -> Jwks.CRV.Ed25519.keyPair().build();
+            case HS256 -> throw new IllegalStateException("HS256은 키쌍을 사용하지 않습니다.");
+        };
+    }
+
+    PrivateKey parsePrivateKey(String encoded) {
+        try {
+            return keyFactory().generatePrivate(new PKCS8EncodedKeySpec(decode(encoded)));
+        } catch (InvalidKeySpecException e) {
+            throw new IllegalArgumentException(name() + " 개인키 형식이 올바르지 않습니다.", e);
+        }
+    }
+
+    PublicKey parsePublicKey(String encoded) {
+        try {
+            return keyFactory().generatePublic(new X509EncodedKeySpec(decode(encoded)));
+        } catch (InvalidKeySpecException e) {
+            throw new IllegalArgumentException(name() + " 공개키 형식이 올바르지 않습니다.", e);
+        }
+    }
+
+    private KeyFactory keyFactory() {
+        try {
+            return KeyFactory.getInstance(keyFactoryAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(keyFactoryAlgorithm + " 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    // PEM header/footer와 공백을 제거하고 base64 decode
+    private static byte[] decode(String encoded) {
+        String base64 = encoded
+                .replaceAll("-----(BEGIN|END) [A-Z ]+-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -8,12 +8,14 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.example.auth.logging.TraceTargets;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
@@ -21,44 +23,48 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
-    private final JwtTokenProvider jwtTokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
     private final UserRepository userRepository;
+    private final AccountRevocationRegistry accountRevocationRegistry;
+    private final PrincipalCache principalCache;
+    private final SessionEpochCache sessionEpochCache;
+    private final AccessTokenDenylist accessTokenDenylist;
 
+    // true이면 access token의 claim(role, ver)만으로 인증하고 사용자 조회를 하지 않는다.
+    @Value("${jwt.stateless-authentication:false}")
+    private boolean statelessAuthentication;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
 
-        System.out.println("JwtAuthenticationFilter::doFilterInternal()");
-        //log.debug("JwtAuthenticationFilter::doFilterInternal()");
+        log.trace("JwtAuthenticationFilter::doFilterInternal()");
         try {
             // request header에서 토큰 추출하기.
             String token = extractTokenRequest(request);
-            System.out.println(token);
             if (token != null) {
                 try{
-                    if(jwtTokenProvider.validateToken(token)){
+                    // 캐시에 검증 결과가 없을 때만 토큰을 분석(서명검증 포함)한다.
+                    VerifiedToken verifiedToken = verifiedTokenCache.verifyIfValid(token).orElse(null);
+                    // 폐기된 토큰은 사용할 수 없다.
+                    if(verifiedToken != null && verifiedToken.isAccessToken()
+                            && !accessTokenDenylist.isRevoked(verifiedToken)){
                         // 토큰이 일단 유효하다면...
-                        String email = jwtTokenProvider.getEmailFromToken(token);
-                        Long userId = jwtTokenProvider.getUserIdFromToken(token);
-                        // 토큰 정보를 활용하여 사용자 객체를 불러옴
-                        User user = userRepository.findById(userId).orElse(null);
-                        if (user!=null && user.getIsActive()) {
-                            // 권한 정보를 생성
-                            List<SimpleGrantedAuthority> authorities = List.of(
-                                    new SimpleGrantedAuthority(user.getRole().name())
-                            );
-
-                            // 인증 토큰 생성
+                        // 토큰 정보를 활용하여 사용자 정보를 불러옴
+                        AuthUser authUser = loadUser(verifiedToken);
+                        if (authUser != null) {
+                            // 사용자별 로그 추적(TraceTargets)을 위해 MDC에 사용자 id를 저장
+                            MDC.put(TraceTargets.MDC_USER_ID, String.valueOf(authUser.id()));
+                            log.debug("인증 성공 - userId: {}", authUser.id());
+                            // 인증 토큰 생성(권한 목록은 권한별로 공유되는 불변 객체)
                             UsernamePasswordAuthenticationToken authenticationToken =
-                                    new UsernamePasswordAuthenticationToken(user, null, authorities);
+                                    new UsernamePasswordAuthenticationToken(authUser, null, authUser.authorities());
                             // 정보 추가
                             authenticationToken.setDetails(
                                     new WebAuthenticationDetailsSource().buildDetails(request)
@@ -86,6 +92,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     }
 
+    /**
+     * 인증할 사용자 정보를 가져온다.
+     * stateless 모드이고 토큰에 role, ver claim이 있으면 DB를 조회하지 않고 claim으로 사용자 정보를 만든다.
+     * 이 경우 사용자 정보에는 id, email, role 값만 들어있다.(/api/me는 나머지 값을 UserService.getCurrentUser()로 조회)
+     * 모든 기기 로그아웃도 계정 상태 버전을 올리므로 stateless 모드에서는 세션 epoch를 조회하지 않는다.
+     * @param verifiedToken 검증된 access token
+     * @return 사용자 정보, 사용할 수 없는 토큰이거나 비활성화된 사용자이면 null
+     */
+    private AuthUser loadUser(VerifiedToken verifiedToken) {
+        if (statelessAuthentication && verifiedToken.hasAccountClaims()) {
+            if (accountRevocationRegistry.isRevoked(verifiedToken.userId(), verifiedToken.accountVersion())) {
+                // 권한이 바뀌었거나 비활성화된 계정의 이전 토큰
+                return null;
+            }
+            return AuthUser.fromToken(verifiedToken);
+        }
+        // 모든 기기 로그아웃 이전에 발급된 토큰은 사용할 수 없다.
+        if (!sessionEpochCache.isCurrent(verifiedToken)) {
+            return null;
+        }
+        // 캐시에 없을 때만 DB에서 조회한다.
+        return principalCache.get(verifiedToken.userId(),
+                userId -> userRepository.findById(userId)
+                        .filter(User::getIsActive)
+                        .map(AuthUser::from)
+                        .orElse(null));
+    }
+
     private String extractTokenRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")){
@@ -0,0 +1,112 @@
+package com.example.auth.security;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.PublicJwk;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * 서명키 목록(Key Ring)
+ * 새 토큰은 active 키로 서명하고, 검증할 때는 토큰 header의 kid로 키를 찾는다.
+ * 교체된(retired) 키는 해당 키로 서명된 토큰이 모두 만료될 때까지 검증에만 사용된다.
+ *
+ * 무중단 키 교체 순서
+ * 1. 새 키를 verification-keys(retired-at 없음)에 추가해서 모든 서버에 배포
+ * 2. 새 키를 active 키로 바꾸고, 기존 키는 retired-at과 함께 verification-keys로 옮겨서 배포
+ * 3. 기존 키의 토큰이 모두 만료되면 verification-keys에서 제거
+ */
+public class JwtKeyRing extends LocatorAdapter<Key> {
+    // key ring 도입 이전의 키(jwt.secret)가 사용하던 kid(jwt.signing.key-id 기본값)
+    public static final String LEGACY_KEY_ID = "default";
+
+    private final JwtSigningKey activeKey;
+    // kid -> 검증키, 생성 후에는 변경하지 않으므로 동시에 읽어도 안전하다.
+    private final Map<String, Entry> keys;
+    private final String jwksJson;
+
+    /**
+     * @param activeKey 서명에 사용할 키
+     * @param verificationKeys 검증 전용 키 목록
+     */
+    public JwtKeyRing(JwtSigningKey activeKey, List<Entry> verificationKeys) {
+        this.activeKey = activeKey;
+
+        Map<String, Entry> map = new HashMap<>();
+        for (Entry entry : verificationKeys) {
+            map.put(entry.key().keyId(), entry);
+        }
+        // active 키는 만료되지 않는다.
+        map.put(activeKey.keyId(), new Entry(activeKey, Instant.MAX));
+        this.keys = Map.copyOf(map);
+        this.jwksJson = createJwksJson(keys.values());
+    }
+
+    public JwtSigningKey getActiveKey() {
+        return activeKey;
+    }
+
+    /**
+     * kid로 검증키를 찾는다.(O(1) map 조회)
+     * kid가 없는 토큰(key ring 도입 이전에 발급된 토큰)은 이전 키(kid "default")로 검증한다.
+     * active 키로 검증하면 키를 교체한 뒤에는 이전 토큰이 모두 검증에 실패하기 때문이다.
+     * @param header 토큰 header
+     * @return 검증키, 없거나 검증 기간이 지난 키이면 null(검증 실패)
+     */
+    @Override
+    protected Key locate(JwsHeader header) {
+        String keyId = header.getKeyId();
+        if (keyId == null) {
+            keyId = LEGACY_KEY_ID;
+        }
+
+        Entry entry = keys.get(keyId);
+        if (entry == null || !entry.isUsableAt(Instant.now())) {
+            return null;
+        }
+        // 다른 종류의 키(HMAC <-> 비대칭키)로 서명된 토큰은 받지 않는다.
+        if (!entry.key().algorithm().accepts(header.getAlgorithm())) {
+            return null;
+        }
+        return entry.key().verificationKey();
+    }
+
+    /**
+     * 검증에 사용되는 공개키 목록을 JWKS 형식으로 반환한다.
+     * @return JWKS JSON 문자열, HMAC 키는 포함하지 않는다.
+     */
+    public String getJwksJson() {
+        return jwksJson;
+    }
+
+    private static String createJwksJson(Collection<Entry> entries) {
+        String keys = entries.stream()
+                .map(entry -> entry.key().toPublicJwk())
+                .filter(jwk -> jwk != null)
+                .map(JwtKeyRing::toJson)
+                .sorted()
+                .collect(Collectors.joining(","));
+        return "{\"keys\":[" + keys + "]}";
+    }
+
+    private static String toJson(PublicJwk<?> jwk) {
+        return Jwks.json(jwk);
+    }
+
+    /**
+     * @param key 검증키
+     * @param verifyUntil 이 시간까지만 검증에 사용
+     */
+    public record Entry(JwtSigningKey key, Instant verifyUntil) {
+        boolean isUsableAt(Instant now) {
+            return now.isBefore(verifyUntil);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.auth.security;
+
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.PublicJwk;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PublicKey;
+
+/**
+ * 토큰 서명/검증에 사용하는 키 정보
+ * HMAC은 서명키와 검증키가 같고, 비대칭 알고리즘은 개인키로 서명하고 공개키로 검증한다.
+ *
+ * @param keyId           토큰 header의 kid 값
+ * @param algorithm       서명 알고리즘
+ * @param signingKey      서명키(HMAC secret 또는 개인키), 검증 전용 키는 null
+ * @param verificationKey 검증키(HMAC secret 또는 공개키)
+ */
+public record JwtSigningKey(
+        String keyId,
+        JwtAlgorithm algorithm,
+        Key signingKey,
+        Key verificationKey
+) {
+
+    public static JwtSigningKey hmac(String keyId, String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalArgumentException("HS256 서명에는 jwt.secret 설정이 필요합니다.");
+        }
+        // 문자열 secret key를 SecretKey 인스턴스로 변환(생성)
+        Key secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+        return new JwtSigningKey(keyId, JwtAlgorithm.HS256, secretKey, secretKey);
+    }
+
+    public static JwtSigningKey asymmetric(String keyId, JwtAlgorithm algorithm, KeyPair keyPair) {
+        return new JwtSigningKey(keyId, algorithm, keyPair.getPrivate(), keyPair.getPublic());
+    }
+
+    public boolean canSign() {
+        return signingKey != null;
+    }
+
+    /**
+     * JWKS로 공개할 공개키 JWK를 생성한다.
+     * @return 공개키 JWK, HMAC 키는 공개할 수 없으므로 null
+     */
+    public PublicJwk<?> toPublicJwk() {
+        if (!algorithm.isAsymmetric()) {
+            return null;
+        }
+        return Jwks.builder()
+                .key((PublicKey) verificationKey)
+                .id(keyId)
+                .algorithm(algorithm.name())
+                .publicKeyUse("sig")
+                .build();
+    }
+}
@@ -1,35 +1,92 @@
 package com.example.auth.security;
 
+import com.example.auth.config.JwtSigningProperties;
+import com.example.auth.entity.User;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import jakarta.annotation.PostConstruct;
-import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import io.jsonwebtoken.security.Keys;
 
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
+@Slf4j
 @Component
 public class JwtTokenProvider {
 
-    private final SecretKey secretKey;
+    private final JwtKeyRing keyRing;
+    private final JwtSigningKey signingKey;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
+    // JwtParser는 불변(immutable)이고 thread-safe하므로 한 번만 만들어서 재사용한다.
+    private final JwtParser jwtParser;
 
     public JwtTokenProvider(
-            @Value("${jwt.secret}") String secret,
+            @Value("${jwt.secret:}") String secret,
             @Value("${jwt.access-token-expiration}") long accessTokenExpiration,
-            @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration
+            @Value("${jwt.refresh-token-expiration}") long refreshTokenExpiration,
+            JwtSigningProperties signingProperties
     ){
-        // 문자열 secret key를 SecretKey 인스턴스로 변환(생성)
-        secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.keyRing = createKeyRing(secret, signingProperties, refreshTokenExpiration);
+        this.signingKey = keyRing.getActiveKey();
+        this.jwtParser = Jwts.parser()
+                .keyLocator(keyRing)            // header의 kid로 검증키를 찾아서 서명검증
+                .build();                       // 분석 객체
+        log.info("JWT 서명 알고리즘: {}, kid: {}", signingKey.algorithm(), signingKey.keyId());
+    }
+
+    private static JwtKeyRing createKeyRing(String secret, JwtSigningProperties properties, long refreshTokenExpiration) {
+        List<JwtKeyRing.Entry> verificationKeys = new ArrayList<>();
+        for (JwtSigningProperties.VerificationKey key : properties.getVerificationKeys()) {
+            // 교체된 키는 그 키로 서명된 가장 긴 토큰(refresh token)이 만료될 때까지만 사용한다.
+            Instant verifyUntil = key.getRetiredAt() == null
+                    ? Instant.MAX
+                    : key.getRetiredAt().plusMillis(refreshTokenExpiration);
+            verificationKeys.add(new JwtKeyRing.Entry(createVerificationKey(key), verifyUntil));
+        }
+        return new JwtKeyRing(createSigningKey(secret, properties), verificationKeys);
+    }
+
+    /**
+     * 설정된 알고리즘에 맞는 서명키를 생성한다.
+     * HS256은 jwt.secret을 사용하고, ES256/EdDSA는 jwt.signing.private-key/public-key를 사용한다.
+     * 비대칭 키가 설정되지 않았으면 임시 키쌍을 생성한다.(재시작하면 기존 토큰은 모두 무효가 됨)
+     */
+    private static JwtSigningKey createSigningKey(String secret, JwtSigningProperties properties) {
+        JwtAlgorithm algorithm = JwtAlgorithm.of(properties.getAlgorithm());
+        if (!algorithm.isAsymmetric()) {
+            return JwtSigningKey.hmac(properties.getKeyId(), secret);
+        }
+
+        if (properties.getPrivateKey() == null || properties.getPublicKey() == null) {
+            log.warn("{} 키쌍이 설정되지 않아 임시 키쌍을 생성합니다. 운영 환경에서는 jwt.signing.private-key, public-key를 설정하세요.", algorithm);
+            return JwtSigningKey.asymmetric(properties.getKeyId(), algorithm, algorithm.generateKeyPair());
+        }
+        return new JwtSigningKey(
+                properties.getKeyId(),
+                algorithm,
+                algorithm.parsePrivateKey(properties.getPrivateKey()),
+                algorithm.parsePublicKey(properties.getPublicKey())
+        );
+    }
+
+    private static JwtSigningKey createVerificationKey(JwtSigningProperties.VerificationKey key) {
+        JwtAlgorithm algorithm = JwtAlgorithm.of(key.getAlgorithm());
+        if (!algorithm.isAsymmetric()) {
+            JwtSigningKey hmac = JwtSigningKey.hmac(key.getKeyId(), key.getSecret());
+            return new JwtSigningKey(key.getKeyId(), algorithm, null, hmac.verificationKey());
+        }
+        return new JwtSigningKey(key.getKeyId(), algorithm, null, algorithm.parsePublicKey(key.getPublicKey()));
     }
 
     /**
@@ -39,16 +96,38 @@ public class JwtTokenProvider {
      * @return access token (문자열)
      */
     public String generateAccessToken(String userEmail, Long userId) {
+        return generateAccessToken(userEmail, userId, null, null, null);
+    }
+
+    /**
+     * 사용자 정보로 AccessToken을 생성하는 메소드
+     * 권한(role)과 계정 상태 버전(accountVersion)을 함께 담아서 DB 조회 없이 인증(stateless)할 수 있도록 한다.
+     * 세션 epoch(sep)도 함께 담아서 모든 기기 로그아웃 이후에는 사용할 수 없도록 한다.
+     * @param user 사용자
+     * @return access token (문자열)
+     */
+    public String generateAccessToken(User user) {
+        return generateAccessToken(user.getEmail(), user.getId(), user.getRole().name(),
+                user.getAccountVersionOrDefault(), user.getSessionEpochOrDefault());
+    }
+
+    private String generateAccessToken(String userEmail, Long userId, String role, Integer accountVersion,
+                                       Integer sessionEpoch) {
         Date now = new Date();
         // 만료 시간을 현재시간 + accessTokenExpiration으로 설정.
         Date expiryDate = new Date(now.getTime() + accessTokenExpiration);
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())   // 토큰 하나를 폐기(denylist)할 수 있도록 고유 id 추가
                 .subject(userEmail)                 // token의 주체(사용자 이메일)
                 .claim("userId", userId)         // 사용자 id 추가
-                .claim("type", "access")      // type은 access token
+                .claim("type", VerifiedToken.TYPE_ACCESS)      // type은 access token
+                .claim("role", role)             // 권한(null이면 claim에 포함되지 않음)
+                .claim("ver", accountVersion)    // 계정 상태 버전(null이면 claim에 포함되지 않음)
+                .claim("sep", sessionEpoch)      // 세션 epoch(null이면 claim에 포함되지 않음)
                 .issuedAt(now)                      // 발행 시간
                 .expiration(expiryDate)             // 만료 시간
-                .signWith(secretKey)                // 암호화
+                .header().keyId(signingKey.keyId()).and()   // 검증할 키의 id
+                .signWith(signingKey.signingKey(), signingKey.algorithm().signatureAlgorithm())  // 암호화
                 .compact();                         // 생성
     }
 
@@ -58,15 +137,31 @@ public class JwtTokenProvider {
      * @return refresh token (문자열)
      */
     public String generateRefreshToken(String userEmail) {
+        return generateRefreshToken(userEmail, null);
+    }
+
+    /**
+     * 사용자 정보로 RefreshToken을 생성하는 메소드, 세션 epoch(sep)를 함께 담는다.
+     * @param user 사용자
+     * @return refresh token (문자열)
+     */
+    public String generateRefreshToken(User user) {
+        return generateRefreshToken(user.getEmail(), user.getSessionEpochOrDefault());
+    }
+
+    private String generateRefreshToken(String userEmail, Integer sessionEpoch) {
         Date now = new Date();
         // 만료 시간을 현재시간 + accessTokenExpiration으로 설정.
         Date expiryDate = new Date(now.getTime() + refreshTokenExpiration);
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())   // 같은 시간에 발급되어도 토큰이 서로 다르도록 고유 id 추가
                 .subject(userEmail)                 // token의 주체(사용자 이메일)
-                .claim("type", "refresh")     // type은 refresh token
+                .claim("type", VerifiedToken.TYPE_REFRESH)     // type은 refresh token
+                .claim("sep", sessionEpoch)         // 세션 epoch(null이면 claim에 포함되지 않음)
                 .issuedAt(now)                      // 발행 시간
                 .expiration(expiryDate)             // 만료 시간
-                .signWith(secretKey)                // 암호화
+                .header().keyId(signingKey.keyId()).and()   // 검증할 키의 id
+                .signWith(signingKey.signingKey(), signingKey.algorithm().signatureAlgorithm())  // 암호화
                 .compact();                         // 생성
     }
 
@@ -76,22 +171,42 @@ public class JwtTokenProvider {
      * @return
      */
     private Claims parseToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)                  // 서명검증
-                .build()                        // 분석 객체
+        return jwtParser
                 .parseSignedClaims(token)   // 토큰 주입
                 .getPayload();              // claim 데이터를 뽑아냄.(Claims 인스턴스)
     }
 
+    /**
+     * 토큰을 한 번만 분석, 서명검증하고 claim 값들을 VerifiedToken으로 반환한다.
+     * @param token 검증할 토큰 문자열
+     * @return 검증된 토큰 정보
+     * @throws JwtException 서명이 잘못되었거나 만료된 경우
+     * @throws IllegalArgumentException 토큰 문자열이 비어있는 경우
+     */
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.from(parseToken(token));
+    }
+
+    /**
+     * verify()와 같지만 검증에 실패하면 예외 대신 Optional.empty()를 반환한다.
+     * @param token 검증할 토큰 문자열
+     * @return 검증된 토큰 정보, 유효하지 않으면 empty
+     */
+    public Optional<VerifiedToken> verifyIfValid(String token) {
+        try {
+            return Optional.of(verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public String getEmailFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.getSubject();
+        return verify(token).subject();
     }
 
     // 사용자 id 추출
     public Long getUserIdFromToken(String token) {
-        Claims claims = parseToken(token);
-        return claims.get("userId", Long.class);
+        return verify(token).userId();
     }
 
     /**
@@ -100,12 +215,20 @@ public class JwtTokenProvider {
      * @return token이 유효하면 true, 아니면 false를 반환
      */
     public boolean validateToken(String token) {
-        try {
-            parseToken(token);
-            return true;
-        }catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return verifyIfValid(token).isPresent();
+    }
+
+    /**
+     * 검증에 사용되는 공개키 목록을 JWKS(JSON Web Key Set) 형식으로 반환한다.
+     * 다른 서비스가 이 공개키로 토큰을 직접 검증할 수 있다.
+     * @return JWKS JSON 문자열, HMAC 모드에서는 빈 목록
+     */
+    public String getJwksJson() {
+        return keyRing.getJwksJson();
+    }
+
+    public long getAccessTokenExpiration() {
+        return accessTokenExpiration;
     }
 
     // Refresh Token 만료 시간 계산
@@ -0,0 +1,190 @@
+package com.example.auth.security;
+
+import com.example.auth.exception.TooManyRequestsException;
+import com.example.auth.support.BoundedEviction;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 로그인 실패 횟수를 클라이언트 IP별, 이메일별로 세고 한도를 넘으면 비밀번호 확인(BCrypt) 전에 거절한다.(brute-force 대응)
+ *
+ * - sliding window: 이전 window의 횟수를 현재 window에서 지난 시간 비율만큼 줄여서 현재 횟수에 더한다.
+ * - 키마다 AtomicLong 하나에 [window 번호 32bit][이전 횟수 16bit][현재 횟수 16bit]를 담아 CAS로 변경한다.(lock 없음)
+ * - 두 window 이상 지난 항목은 의미가 없으므로 주기적으로 제거한다.
+ *   무작위 이메일로 항목이 max-size를 넘으면 만료된 항목, 그래도 많으면 한도에 도달하지 않은 항목을 제거한다.
+ *   한도에 도달한(거절 중인) 항목은 제거하지 않는다.(무작위 이메일을 보내서 공격 중인 계정의 횟수를 초기화할 수 없도록)
+ *   IP별, 이메일별 map은 각각 따로 정리한다.
+ * - 로그인에 성공하면 이메일의 실패 횟수만 지운다.(IP 횟수는 유지)
+ *
+ * 프록시 뒤에서는 server.forward-headers-strategy 설정으로 getRemoteAddr()가 실제 클라이언트 IP가 되어야 한다.
+ */
+@Component
+public class LoginThrottle {
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final long windowMillis;
+    private final int ipLimit;
+    private final int emailLimit;
+    private final int maxSize;
+
+    private final Map<String, AtomicLong> ipFailures = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> emailFailures = new ConcurrentHashMap<>();
+    private final BoundedEviction<AtomicLong> ipEviction;
+    private final BoundedEviction<AtomicLong> emailEviction;
+
+    private final Counter ipThrottled;
+    private final Counter emailThrottled;
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${auth.login-throttle.window:PT10M}") Duration window,
+            @Value("${auth.login-throttle.ip-limit:100}") int ipLimit,
+            @Value("${auth.login-throttle.email-limit:10}") int emailLimit,
+            @Value("${auth.login-throttle.max-size:100000}") int maxSize
+    ) {
+        this.windowMillis = window.toMillis();
+        this.ipLimit = ipLimit;
+        this.emailLimit = emailLimit;
+        this.maxSize = maxSize;
+        this.ipEviction = new BoundedEviction<>(ipFailures, maxSize,
+                state -> estimate(state, System.currentTimeMillis()) < ipLimit);
+        this.emailEviction = new BoundedEviction<>(emailFailures, maxSize,
+                state -> estimate(state, System.currentTimeMillis()) < emailLimit);
+
+        this.ipThrottled = Counter.builder("auth.login.throttled")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.emailThrottled = Counter.builder("auth.login.throttled")
+                .tag("key", "email")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.throttle.size", this, throttle -> throttle.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * 실패 횟수가 한도를 넘었으면 거절한다.
+     * @param clientIp 클라이언트 IP
+     * @param email 정규화된 이메일
+     */
+    public void checkAllowed(String clientIp, String email) {
+        long now = System.currentTimeMillis();
+        if (clientIp != null && estimate(ipFailures.get(clientIp), now) >= ipLimit) {
+            ipThrottled.increment();
+            throw throttled(now);
+        }
+        if (email != null && estimate(emailFailures.get(email), now) >= emailLimit) {
+            emailThrottled.increment();
+            throw throttled(now);
+        }
+    }
+
+    /**
+     * 로그인 실패를 기록한다.
+     */
+    public void recordFailure(String clientIp, String email) {
+        long now = System.currentTimeMillis();
+        if (clientIp != null) {
+            increment(ipFailures, ipEviction, clientIp, now);
+        }
+        if (email != null) {
+            increment(emailFailures, emailEviction, email, now);
+        }
+    }
+
+    /**
+     * 로그인에 성공하면 해당 이메일의 실패 횟수를 지운다.
+     */
+    public void recordSuccess(String email) {
+        if (email != null) {
+            emailFailures.remove(email);
+        }
+    }
+
+    public int size() {
+        return ipFailures.size() + emailFailures.size();
+    }
+
+    /**
+     * 두 window 이상 지난 항목을 제거한다.
+     */
+    @Scheduled(fixedDelayString = "${auth.login-throttle.cleanup-interval:PT1M}")
+    public void cleanUp() {
+        long window = System.currentTimeMillis() / windowMillis;
+        ipFailures.values().removeIf(state -> windowOf(state.get()) < window - 1);
+        emailFailures.values().removeIf(state -> windowOf(state.get()) < window - 1);
+    }
+
+    private void increment(Map<String, AtomicLong> failures, BoundedEviction<AtomicLong> eviction, String key, long now) {
+        AtomicLong state = failures.computeIfAbsent(key, k -> new AtomicLong());
+        long window = now / windowMillis;
+        while (true) {
+            long current = state.get();
+            long rotated = rotate(current, window);
+            int count = currentCount(rotated);
+            long next = count >= MAX_COUNT ? rotated : rotated + 1;
+            if (next == current || state.compareAndSet(current, next)) {
+                break;
+            }
+        }
+        if (failures.size() > maxSize) {
+            eviction.evict(failure -> windowOf(failure.get()) < window - 1);
+        }
+    }
+
+    /**
+     * sliding window로 추정한 실패 횟수
+     */
+    private int estimate(AtomicLong state, long now) {
+        if (state == null) {
+            return 0;
+        }
+        long window = now / windowMillis;
+        long rotated = rotate(state.get(), window);
+        double elapsed = (double) (now % windowMillis) / windowMillis;
+        return (int) (previousCount(rotated) * (1 - elapsed)) + currentCount(rotated);
+    }
+
+    /**
+     * 저장된 상태를 현재 window 기준으로 바꾼다.
+     */
+    private static long rotate(long state, long window) {
+        long stateWindow = windowOf(state);
+        if (stateWindow == window) {
+            return state;
+        }
+        int previous = stateWindow == window - 1 ? currentCount(state) : 0;
+        return pack(window, previous, 0);
+    }
+
+    private static long pack(long window, int previous, int current) {
+        return (window << 32) | ((long) previous << 16) | current;
+    }
+
+    private static long windowOf(long state) {
+        return state >>> 32;
+    }
+
+    private static int previousCount(long state) {
+        return (int) ((state >>> 16) & MAX_COUNT);
+    }
+
+    private static int currentCount(long state) {
+        return (int) (state & MAX_COUNT);
+    }
+
+    private TooManyRequestsException throttled(long now) {
+        // 현재 window가 끝나면 추정 횟수가 줄어들기 시작한다.
+        long retryAfter = windowMillis - (now % windowMillis);
+        return new TooManyRequestsException("로그인 시도가 너무 많습니다. 잠시 후 다시 시도해주세요.",
+                Duration.ofMillis(retryAfter));
+    }
+}
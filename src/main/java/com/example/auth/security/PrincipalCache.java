@@ -0,0 +1,71 @@
+package com.example.auth.security;
+
+import com.example.auth.event.UserChangedEvent;
+import com.example.auth.support.SingleFlightCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 인증된 사용자(principal) 정보를 userId로 캐시하는 클래스
+ * 비활성화되었거나 없는 사용자는 null로 캐시한다.
+ * JwtAuthenticationFilter가 요청마다 DB에서 사용자를 조회하지 않도록 한다.
+ *
+ * - 항목은 ttl이 지나면 다시 조회한다.
+ * - 사용자 정보가 변경되면(UserChangedEvent) 트랜잭션 커밋 후 해당 항목을 제거한다.
+ * - 같은 userId에 대해 동시에 캐시 miss가 발생하면 DB 조회는 한 번만 수행하고 나머지는 결과를 기다린다.
+ */
+@Component
+public class PrincipalCache {
+    private final SingleFlightCache<Long, AuthUser> cache;
+
+    public PrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${auth.principal-cache.ttl:30s}") Duration ttl,
+            @Value("${auth.principal-cache.max-size:10000}") int maxSize
+    ) {
+        this.cache = new SingleFlightCache<>(ttl, maxSize);
+
+        FunctionCounter.builder("auth.principal.cache.requests", cache, SingleFlightCache::getHitCount)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.principal.cache.requests", cache, SingleFlightCache::getMissCount)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("auth.principal.cache.size", cache, SingleFlightCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시된 사용자를 반환하고, 없거나 만료되었으면 loader로 조회한다.
+     * @param userId 사용자 id
+     * @param loader 캐시 miss일 때 사용자를 조회하는 함수(인증할 수 없는 사용자이면 null 반환)
+     * @return 사용자, 없거나 비활성화된 사용자이면 null
+     */
+    public AuthUser get(Long userId, Function<Long, AuthUser> loader) {
+        return cache.get(userId, loader);
+    }
+
+    /**
+     * 해당 사용자의 캐시 항목을 제거한다.
+     * @param userId 사용자 id
+     */
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * 사용자 정보가 변경되면 트랜잭션 커밋 후 캐시를 무효화한다.
+     * (커밋 전에 제거하면 다른 요청이 변경 전 데이터를 다시 캐시할 수 있음)
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+}
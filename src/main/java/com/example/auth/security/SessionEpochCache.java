@@ -0,0 +1,75 @@
+package com.example.auth.security;
+
+import com.example.auth.event.UserChangedEvent;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.support.SingleFlightCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+
+/**
+ * 사용자별 현재 세션 epoch를 캐시하는 클래스
+ * 토큰의 sep claim이 현재 세션 epoch보다 작으면 모든 기기 로그아웃 이전에 발급된 토큰이므로 사용할 수 없다.
+ *
+ * - 항목은 ttl이 지나면 다시 조회한다.
+ * - 다른 서버에서 로그아웃한 경우 RevocationEventPoller가 이벤트를 적용할 때 항목을 제거한다.
+ * - 같은 서버에서 로그아웃하면(UserChangedEvent) 트랜잭션 커밋 후 바로 해당 항목을 제거한다.
+ * - 같은 사용자에 대해 동시에 캐시 miss가 발생하면 DB 조회는 한 번만 수행한다.
+ * - stateless 인증 모드에서는 사용하지 않는다.(모든 기기 로그아웃도 계정 상태 버전으로 거부)
+ */
+@Component
+public class SessionEpochCache {
+    private final UserRepository userRepository;
+    private final SingleFlightCache<Long, Integer> cache;
+
+    public SessionEpochCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.session-epoch-cache.ttl:30s}") Duration ttl,
+            @Value("${auth.session-epoch-cache.max-size:10000}") int maxSize
+    ) {
+        this.userRepository = userRepository;
+        this.cache = new SingleFlightCache<>(ttl, maxSize);
+
+        Gauge.builder("auth.session.epoch.cache.size", cache, SingleFlightCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰이 현재 세션 epoch로 발급되었는지 확인한다.
+     * @param verifiedToken 검증된 토큰
+     * @return 모든 기기 로그아웃 이후에 발급된 토큰이면 true
+     */
+    public boolean isCurrent(VerifiedToken verifiedToken) {
+        return verifiedToken.sessionEpochOrDefault() >= get(verifiedToken.userId());
+    }
+
+    /**
+     * 사용자의 현재 세션 epoch를 반환한다. 없는 사용자는 0
+     * 조회 중에 해당 사용자가 무효화되면 조회한 값(이전 값일 수 있음)은 캐시하지 않는다.(다른 사용자의 조회에는 영향 없음)
+     * @param userId 사용자 id
+     * @return 세션 epoch
+     */
+    public int get(Long userId) {
+        if (userId == null) {
+            return 0;
+        }
+        return cache.get(userId, id -> userRepository.findSessionEpochById(id).orElse(0));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    /**
+     * 로그아웃 등으로 사용자 정보가 변경되면 트랜잭션 커밋 후 캐시를 무효화한다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.userId());
+    }
+}
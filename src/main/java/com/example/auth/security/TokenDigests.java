@@ -0,0 +1,43 @@
+package com.example.auth.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 문자열의 SHA-256 digest를 계산하는 유틸리티
+ * 원본 토큰 대신 고정 길이(32byte) digest를 key로 사용하기 위해 쓴다.
+ */
+public final class TokenDigests {
+
+    // MessageDigest는 thread-safe하지 않으므로 스레드마다 하나씩 만들어 재사용한다.
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    });
+
+    private TokenDigests() {
+    }
+
+    /**
+     * @param token 토큰 문자열
+     * @return 32byte SHA-256 digest
+     */
+    public static byte[] sha256(String token) {
+        MessageDigest digest = SHA_256.get();
+        digest.reset();
+        return digest.digest(token.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * @param token 토큰 문자열
+     * @return SHA-256 digest를 base64url(패딩 없음)로 인코딩한 문자열(43자)
+     */
+    public static String sha256Key(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(token));
+    }
+}
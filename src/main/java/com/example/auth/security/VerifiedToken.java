@@ -0,0 +1,69 @@
+package com.example.auth.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+
+/**
+ * 서명 검증이 끝난 JWT의 claim 값을 담는 불변 객체
+ * 토큰을 한 번만 분석(parse)하고 필요한 값들을 꺼내 쓸 수 있도록 한다.
+ *
+ * @param subject   토큰의 주체(사용자 이메일)
+ * @param userId    사용자 id(access token에만 존재, refresh token은 null)
+ * @param type      토큰 종류(access, refresh)
+ * @param issuedAt  발행 시간
+ * @param expiresAt 만료 시간
+ * @param role      권한(access token에만 존재)
+ * @param accountVersion 계정 상태 버전(access token에만 존재)
+ * @param sessionEpoch 발급 당시 사용자의 세션 epoch(이전 버전에서 발급된 토큰은 null)
+ * @param tokenId   토큰 고유 id(jti), 토큰 하나를 폐기할 때 사용
+ */
+public record VerifiedToken(
+        String subject,
+        Long userId,
+        String type,
+        Instant issuedAt,
+        Instant expiresAt,
+        String role,
+        Integer accountVersion,
+        Integer sessionEpoch,
+        String tokenId
+) {
+    public static final String TYPE_ACCESS = "access";
+    public static final String TYPE_REFRESH = "refresh";
+
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getSubject(),
+                claims.get("userId", Long.class),
+                claims.get("type", String.class),
+                claims.getIssuedAt() == null ? null : claims.getIssuedAt().toInstant(),
+                claims.getExpiration() == null ? null : claims.getExpiration().toInstant(),
+                claims.get("role", String.class),
+                claims.get("ver", Integer.class),
+                claims.get("sep", Integer.class),
+                claims.getId()
+        );
+    }
+
+    public boolean isAccessToken() {
+        return TYPE_ACCESS.equals(type);
+    }
+
+    /**
+     * DB 조회 없이 claim만으로 인증할 수 있는 토큰인지 확인
+     * @return role, accountVersion claim이 모두 있으면 true
+     */
+    public boolean hasAccountClaims() {
+        return role != null && accountVersion != null;
+    }
+
+    public boolean isRefreshToken() {
+        return TYPE_REFRESH.equals(type);
+    }
+
+    // sep claim이 없는 이전 토큰은 0으로 취급
+    public int sessionEpochOrDefault() {
+        return sessionEpoch == null ? 0 : sessionEpoch;
+    }
+}
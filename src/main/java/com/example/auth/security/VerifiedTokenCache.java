@@ -0,0 +1,141 @@
+package com.example.auth.security;
+
+import com.example.auth.support.BoundedEviction;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.jsonwebtoken.JwtException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 검증이 끝난 access token 결과를 캐시하는 클래스
+ * 같은 access token이 만료될 때까지 반복해서 들어오므로 매번 서명검증을 하지 않고 캐시된 결과를 사용한다.
+ *
+ * - key는 토큰 원문이 아닌 SHA-256 digest를 사용한다.
+ * - 각 항목은 토큰의 exp 시간이 지나면 사용하지 않는다.
+ * - 최대 항목 수(max-size)를 넘지 않도록 제한한다.
+ * - 조회는 ConcurrentHashMap을 사용하므로 lock 없이 동시에 처리된다.
+ */
+@Slf4j
+@Component
+public class VerifiedTokenCache {
+    private final JwtTokenProvider jwtTokenProvider;
+    private final boolean enabled;
+    private final int maxSize;
+
+    private final Map<String, VerifiedToken> entries = new ConcurrentHashMap<>();
+    private final BoundedEviction<VerifiedToken> eviction;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public VerifiedTokenCache(
+            JwtTokenProvider jwtTokenProvider,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.verification-cache.enabled:true}") boolean enabled,
+            @Value("${jwt.verification-cache.max-size:10000}") int maxSize
+    ) {
+        this.jwtTokenProvider = jwtTokenProvider;
+        this.enabled = enabled;
+        this.maxSize = maxSize;
+        this.eviction = new BoundedEviction<>(entries, maxSize, token -> true);
+
+        FunctionCounter.builder("jwt.verification.cache.requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.verification.cache.requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("jwt.verification.cache.evictions", evictions, LongAdder::sum)
+                .register(meterRegistry);
+        Gauge.builder("jwt.verification.cache.size", entries, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 캐시에 검증 결과가 있으면 그대로 반환하고, 없으면 JwtTokenProvider로 검증한 뒤 캐시에 저장한다.
+     * @param token 검증할 토큰 문자열
+     * @return 검증된 토큰 정보
+     * @throws JwtException 서명이 잘못되었거나 만료된 경우
+     * @throws IllegalArgumentException 토큰 문자열이 비어있는 경우
+     */
+    public VerifiedToken verify(String token) {
+        if (!enabled) {
+            return jwtTokenProvider.verify(token);
+        }
+
+        String key = TokenDigests.sha256Key(token);
+        VerifiedToken cached = entries.get(key);
+        if (cached != null) {
+            if (Instant.now().isBefore(cached.expiresAt())) {
+                hits.increment();
+                return cached;
+            }
+            // 만료된 항목은 제거하고 전체 검증을 다시 수행한다.(ExpiredJwtException이 발생)
+            if (entries.remove(key, cached)) {
+                evictions.increment();
+            }
+        }
+
+        misses.increment();
+        VerifiedToken verified = jwtTokenProvider.verify(token);
+        // access token만 캐시한다. refresh token은 DB 조회가 함께 필요하므로 캐시하지 않음.
+        if (verified.isAccessToken() && verified.expiresAt() != null) {
+            if (entries.size() >= maxSize) {
+                evict();
+            }
+            if (entries.size() < maxSize) {
+                entries.put(key, verified);
+            }
+        }
+        return verified;
+    }
+
+    /**
+     * verify()와 같지만 검증에 실패하면 예외 대신 Optional.empty()를 반환한다.
+     * @param token 검증할 토큰 문자열
+     * @return 검증된 토큰 정보, 유효하지 않으면 empty
+     */
+    public Optional<VerifiedToken> verifyIfValid(String token) {
+        try {
+            return Optional.of(verify(token));
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 만료된 항목을 먼저 제거하고, 그래도 가득 차 있으면 최대 크기의 90%가 될 때까지 임의의 항목을 제거한다.
+     */
+    private void evict() {
+        Instant now = Instant.now();
+        int removed = eviction.evict(token -> !now.isBefore(token.expiresAt()));
+        evictions.add(removed);
+        log.debug("VerifiedTokenCache 정리 완료 - 제거: {}, 남은 항목: {}", removed, entries.size());
+    }
+}
@@ -1,16 +1,18 @@
 package com.example.auth.service;
 
 import com.example.auth.dto.*;
-import com.example.auth.entity.RefreshToken;
 import com.example.auth.entity.User;
 import com.example.auth.exception.AccountException;
 import com.example.auth.exception.DuplicationEmailException;
 import com.example.auth.exception.InvalidCredentialException;
 import com.example.auth.exception.TokenException;
-import com.example.auth.repository.RefreshTokenRepository;
 import com.example.auth.repository.UserRepository;
+import com.example.auth.security.AccessTokenDenylist;
+import com.example.auth.security.AuthUser;
 import com.example.auth.security.CustomUserDetails;
 import com.example.auth.security.JwtTokenProvider;
+import com.example.auth.security.LoginThrottle;
+import com.example.auth.security.VerifiedToken;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,8 +25,6 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
 import java.util.Optional;
 
 @Slf4j
@@ -34,8 +34,13 @@ public class Authservice {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider jwtTokenProvider;    // token 발급기, 검증기
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final AuthenticationManager authenticationManager;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final RevocationEventPublisher revocationEventPublisher;
+    private final PasswordRehashService passwordRehashService;
+    private final LoginThrottle loginThrottle;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     @Transactional
     public ApiResponse<Void> signup(RequestSignup requestSignup){
@@ -44,20 +49,31 @@ public class Authservice {
 
         //log.info();
 
+        // 중복 가입은 해싱, INSERT 전에 확인한다.(확실히 없는 이메일은 DB 조회도 하지 않음)
+        if (registeredEmailFilter.isRegistered(email)) {
+            log.warn("중복 회원 가입 시도: {}", email);
+            throw new DuplicationEmailException("이미 가입된 이메일입니다.");
+        }
+
+        // 해싱 대기열이 가득 차면 TooManyRequestsException(429)이 그대로 전달되도록 try 밖에서 해싱한다.
+        String encodedPassword = passwordEncoder.encode(requestSignup.getPassword());
+
         try {
             // requestSignup 정보를 기반으로 User Entity 인스턴스를 생성.
             User user = User.builder()
                     .email(email)
-                    .password(passwordEncoder.encode(requestSignup.getPassword()))
+                    .password(encodedPassword)
                     .nickname(requestSignup.getUsername())
                     .role(User.Role.ROLE_USER)
                     .isActive(true)
                     .build();
 
             userRepository.save(user);
+            registeredEmailFilter.add(email);
             return ApiResponse.success("회원가입 성공");
         } catch (DataIntegrityViolationException e){
-            System.out.println("중복 회원 가입 시도");
+            // 다른 서버에서 가입했거나 동시에 가입한 경우
+            registeredEmailFilter.add(email);
             log.warn("중복 회원 가입 시도: {}", email);
             throw new DuplicationEmailException("이미 가입된 이메일입니다.");
             //return ApiResponse.error("이미 가입된 회원입니다.");
@@ -68,10 +84,12 @@ public class Authservice {
     }
 
     @Transactional
-    public LoginResponse login(RequestLogin requestLogin) {
+    public LoginResponse login(RequestLogin requestLogin, String clientIp) {
 
         String nomarlizeEmail = requestLogin.getEmail().trim().toLowerCase();
         log.info("request mail");
+        // 실패 횟수가 한도를 넘었으면 비밀번호 확인 전에 거절
+        loginThrottle.checkAllowed(clientIp, nomarlizeEmail);
         Optional<User> optUser = userRepository.findByEmail(nomarlizeEmail);
         User user = null;
         if (optUser.isPresent())
@@ -79,6 +97,7 @@ public class Authservice {
 
         if(user == null) {
             // 존재하지 않는 이메일이면 에러반환 후 종료
+            loginThrottle.recordFailure(clientIp, nomarlizeEmail);
             throw new InvalidCredentialException("존재하지 않는 사용자입니다.");
         }
 
@@ -87,8 +106,10 @@ public class Authservice {
                 requestLogin.getPassword(), user.getPassword()
         );
         if (!isValid) {
+            loginThrottle.recordFailure(clientIp, nomarlizeEmail);
             throw new InvalidCredentialException("비밀번호가 일치하지 않습니다.");
         }
+        loginThrottle.recordSuccess(nomarlizeEmail);
 
         // 계정 상태 확인하기
         if(!user.getIsActive()){
@@ -99,8 +120,10 @@ public class Authservice {
     }
 
     @Transactional
-    public LoginResponse loginEx(@Valid RequestLogin requestLogin){
+    public LoginResponse loginEx(@Valid RequestLogin requestLogin, String clientIp){
         String email = requestLogin.getEmail().trim().toLowerCase();
+        // 실패 횟수가 한도를 넘었으면 비밀번호 확인 전에 거절
+        loginThrottle.checkAllowed(clientIp, email);
 
         Authentication authentication;
         try{
@@ -108,31 +131,24 @@ public class Authservice {
                     new UsernamePasswordAuthenticationToken(email, requestLogin.getPassword())
             );
         }catch (AuthenticationException ex){
+            loginThrottle.recordFailure(clientIp, email);
             throw new InvalidCredentialException("이메일 또는 비밀번호가 올바르지 않습니다.");
         }
+        loginThrottle.recordSuccess(email);
 
         CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
         User user = userDetails.getUser();
+        // 이전 cost로 저장된 비밀번호는 응답 이후에 현재 cost로 다시 해싱한다.
+        passwordRehashService.rehashIfNeeded(user, requestLogin.getPassword());
 
         return createLoginResponse(user);
     }
 
     private LoginResponse createLoginResponse(User user) {
         // 토큰을 생성
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail(), user.getId());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
-
-        // refresh token은 데이터베이스에 저장한다.
-        RefreshToken refreshTokenEntity =  RefreshToken.builder()
-                .token(refreshToken)
-                .user(user)
-                .createdAt(LocalDateTime.now())
-                .expiresAt(LocalDateTime.ofInstant(
-                        jwtTokenProvider.getRefreshTokenExpiryDate().toInstant(),
-                        ZoneId.systemDefault()
-                )).build();
-
-        refreshTokenRepository.save(refreshTokenEntity);
+        String accessToken = jwtTokenProvider.generateAccessToken(user);
+        // refresh token은 digest로 데이터베이스에 저장한다.
+        String refreshToken = refreshTokenService.issue(user);
 
         LoginResponse.UserInfo userInfo = LoginResponse.UserInfo.builder()
                 .id(user.getId())
@@ -157,41 +173,45 @@ public class Authservice {
     public TokenRefreshResponse refreshAccessToken(String refreshToken) {
 
         // 1. refresh token 검증하기
-        if (!jwtTokenProvider.validateToken(refreshToken)){
-            throw new RuntimeException("유효하지 않은 Refresh Token 입니다.");
-        }
+        VerifiedToken verifiedToken = jwtTokenProvider.verifyIfValid(refreshToken)
+                .orElseThrow(() -> new RuntimeException("유효하지 않은 Refresh Token 입니다."));
         // 2. Refresh Token 으로부터 이메일 추출하기
-        String email = jwtTokenProvider.getEmailFromToken(refreshToken);
-
-        // 3. DB에 해당 사용자가 존재하는지, 해당 refresh token이 존재하는지 체크
-        RefreshToken tokenEntity = refreshTokenRepository.findByToken(refreshToken).orElseThrow(()-> {
-            throw  new TokenException("유효하지 않은 Refresh Token입니다.");
-        });
+        String email = verifiedToken.subject();
 
-        // 4. refresh token이 만료되었는지 확인
-        if (tokenEntity.getExpiresAt().isBefore((LocalDateTime.now()))){
-            throw new TokenException("Refresh Token이 만료되었습니다.");
-        }
-
-        // 5. 사용자 조회
-        User user = tokenEntity.getUser();
-        if(user==null || !user.getIsActive()) {
-            throw new AccountException("비활성화된 사용자입니다.");
-        }
-
-        // 6. email 아이디 체크하기
-        if(!user.getEmail().equals(email)){
-            throw new AccountException("잘못된 사용자입니다.");
-        }
+        // 3. refresh token 사용(rotation), 저장된 토큰과 사용자 상태를 확인한다.
+        RefreshTokenService.Rotation rotation =
+                refreshTokenService.rotate(refreshToken, email, verifiedToken.sessionEpochOrDefault());
 
-        // 7. 통과
-        String newAccessToken = jwtTokenProvider.generateAccessToken(user.getEmail(), user.getId());
+        // 4. 통과
+        String newAccessToken = jwtTokenProvider.generateAccessToken(rotation.user());
 
-        // 8. 토큰 응답 객체를 생성
+        // 5. 토큰 응답 객체를 생성
         TokenRefreshResponse response = new TokenRefreshResponse();
-        response.setAccessToken(newAccessToken);    // 새로 발급받은 Access Token
-        response.setRefreshToken(refreshToken);     // Access Token 발급을 위해 사용된 Refresh Token
+        response.setAccessToken(newAccessToken);                // 새로 발급받은 Access Token
+        response.setRefreshToken(rotation.refreshToken());      // 다음 refresh에 사용할 Refresh Token
 
         return response;
     }
+
+    /**
+     * access token을 만료 전에 사용할 수 없도록 폐기한다.
+     * 본인의 토큰만 폐기할 수 있고, 관리자는 다른 사용자의 토큰도 폐기할 수 있다.
+     * @param caller 요청한 사용자
+     * @param accessToken 폐기할 access token
+     */
+    public void revokeAccessToken(AuthUser caller, String accessToken) {
+        VerifiedToken verifiedToken = jwtTokenProvider.verifyIfValid(accessToken)
+                .filter(VerifiedToken::isAccessToken)
+                .orElseThrow(() -> new TokenException("유효하지 않은 Access Token 입니다."));
+
+        if (!caller.id().equals(verifiedToken.userId()) && caller.role() != User.Role.ROLE_ADMIN) {
+            throw new AccountException("다른 사용자의 토큰은 폐기할 수 없습니다.");
+        }
+        if (!accessTokenDenylist.revoke(verifiedToken)) {
+            throw new TokenException("Access Token을 폐기할 수 없습니다.");
+        }
+        // 다른 서버의 denylist에도 반영되도록 이벤트를 저장한다.
+        revocationEventPublisher.accessTokenRevoked(verifiedToken);
+        log.info("Access Token 폐기 - userId: {}, 요청: {}", verifiedToken.userId(), caller.id());
+    }
 }
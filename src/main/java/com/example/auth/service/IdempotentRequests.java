@@ -0,0 +1,90 @@
+package com.example.auth.service;
+
+import com.example.auth.support.SingleFlightCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Idempotency-Key 헤더가 있는 요청(회원가입, 로그인)의 결과를 보관했다가 재시도 요청에 그대로 돌려준다.
+ * 모바일 네트워크에서 응답을 받지 못한 클라이언트가 같은 요청을 다시 보내도 BCrypt 해싱, DB 저장을 반복하지 않는다.
+ *
+ * - key는 (요청 종류, Idempotency-Key, 요청 내용)의 HMAC-SHA256이다.
+ *   요청 내용(비밀번호 포함)이 다르면 같은 Idempotency-Key라도 다른 요청으로 처리한다.
+ *   HMAC 키는 서버가 시작할 때 임의로 만들고 메모리에만 두므로, heap dump의 key로 비밀번호를 대입해 볼 수 없다.
+ * - 같은 key로 처리 중인 요청이 있으면 새로 처리하지 않고 그 결과를 기다린다.
+ * - 성공한 결과(cacheable)만 ttl 동안 보관한다. 실패 응답이나 예외로 끝난 요청은 보관하지 않는다.
+ * - 최대 max-size 개까지 보관한다.
+ * - 서버 메모리에만 보관하므로 다른 서버로 간 재시도는 새 요청으로 처리된다.
+ */
+@Component
+public class IdempotentRequests {
+    private final SingleFlightCache<String, Object> cache;
+    private final SecretKeySpec secret;
+
+    public IdempotentRequests(
+            MeterRegistry meterRegistry,
+            @Value("${auth.idempotency.ttl:PT5M}") Duration ttl,
+            @Value("${auth.idempotency.max-size:10000}") int maxSize
+    ) {
+        this.cache = new SingleFlightCache<>(ttl, maxSize);
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.secret = new SecretKeySpec(key, "HmacSHA256");
+
+        FunctionCounter.builder("auth.idempotency.replayed", cache, SingleFlightCache::getHitCount)
+                .register(meterRegistry);
+        Gauge.builder("auth.idempotency.size", cache, SingleFlightCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 같은 요청이 처리 중이거나 처리된 결과가 있으면 그 결과(복사본)를 반환하고, 없으면 action을 실행한다.
+     * 호출한 쪽에서 결과를 수정할 수 있으므로 보관, 반환할 때 복사한다.
+     *
+     * @param scope 요청 종류(signup, login 등)
+     * @param idempotencyKey Idempotency-Key 헤더, 없으면 항상 action을 실행한다.
+     * @param fingerprint 요청 내용(같은 요청인지 확인하는 값)
+     * @param action 실제 처리
+     * @param copy 결과 복사
+     * @param cacheable 재시도에 돌려줄 결과인지(성공한 결과인지) 확인하는 함수
+     * @return 처리 결과
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String scope, String idempotencyKey, String fingerprint,
+                         Supplier<T> action, UnaryOperator<T> copy, Predicate<T> cacheable) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        String key = hmac(scope + '\n' + idempotencyKey + '\n' + fingerprint);
+
+        T result = (T) cache.get(key, k -> copy.apply(action.get()), value -> cacheable.test((T) value));
+        return copy.apply(result);
+    }
+
+    private String hmac(String value) {
+        try {
+            // Mac은 thread-safe하지 않으므로 호출마다 만든다.(BCrypt 해싱에 비하면 무시할 수 있는 비용)
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(secret);
+            byte[] digest = mac.doFinal(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.auth.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * 메모리에만 저장하는 refresh token 저장소
+ * 테스트나 서버 한 대로 운영할 때 사용한다.(재시작하면 모든 세션이 사라짐)
+ *
+ * 토큰은 불변 객체이고 변경은 id별 원자적 교체(compute)로 처리한다.
+ * digest, family, 사용자별 index를 함께 유지한다.
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    private static final Comparator<StoredRefreshToken> LEAST_RECENTLY_USED = Comparator
+            .comparing(StoredRefreshToken::lastUsedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(StoredRefreshToken::id);
+
+    private final Map<Long, StoredRefreshToken> tokens = new ConcurrentHashMap<>();
+    private final NavigableSet<Long> ids = new ConcurrentSkipListSet<>();
+    private final Map<ByteBuffer, Long> byHash = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> byFamily = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> byUser = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public StoredRefreshToken save(StoredRefreshToken token) {
+        StoredRefreshToken stored = token.withId(sequence.incrementAndGet());
+        put(stored);
+        changed(stored);
+        return stored;
+    }
+
+    @Override
+    public Optional<StoredRefreshToken> findByTokenHash(byte[] tokenHash) {
+        Long id = byHash.get(ByteBuffer.wrap(tokenHash));
+        return id == null ? Optional.empty() : Optional.ofNullable(tokens.get(id));
+    }
+
+    @Override
+    public boolean markRotated(long id, long expectedVersion, LocalDateTime rotatedAt) {
+        return update(id, token -> token.version() == expectedVersion && !token.isRotated() && !token.revoked()
+                ? token.asRotated(rotatedAt) : null);
+    }
+
+    @Override
+    public boolean revoke(long id) {
+        return update(id, token -> token.revoked() ? null : token.asRevoked());
+    }
+
+    @Override
+    public int revokeFamily(String familyId) {
+        int revoked = 0;
+        for (Long id : byFamily.getOrDefault(familyId, Set.of())) {
+            if (revoke(id)) {
+                revoked++;
+            }
+        }
+        return revoked;
+    }
+
+    @Override
+    public long countLive(long userId, LocalDateTime now) {
+        return userTokens(userId).stream()
+                .filter(token -> token.isLive(now))
+                .count();
+    }
+
+    @Override
+    public List<Long> findLeastRecentlyUsedLive(long userId, LocalDateTime now, int limit) {
+        return userTokens(userId).stream()
+                .filter(token -> token.isLive(now))
+                .sorted(LEAST_RECENTLY_USED)
+                .limit(limit)
+                .map(StoredRefreshToken::id)
+                .toList();
+    }
+
+    @Override
+    public List<Long> findPurgeable(long afterId, LocalDateTime now, int limit) {
+        return ids.tailSet(afterId, false).stream()
+                .map(tokens::get)
+                .filter(token -> token != null && token.isPurgeable(now))
+                .limit(limit)
+                .map(StoredRefreshToken::id)
+                .toList();
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        int deleted = 0;
+        for (Long id : ids) {
+            if (remove(id) != null) {
+                removed(id);
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    @Override
+    public void updateLastUsed(Map<Long, LocalDateTime> lastUsed) {
+        lastUsed.forEach((id, usedAt) -> update(id, token ->
+                token.lastUsedAt() == null || token.lastUsedAt().isBefore(usedAt) ? token.withLastUsedAt(usedAt) : null));
+    }
+
+    /**
+     * 저장된 토큰 수
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * 저장된 모든 토큰(id 순서)
+     */
+    protected Collection<StoredRefreshToken> snapshot() {
+        return ids.stream().map(tokens::get).filter(token -> token != null).toList();
+    }
+
+    /**
+     * 토큰이 추가되거나 변경된 후 호출된다.
+     */
+    protected void changed(StoredRefreshToken token) {
+    }
+
+    /**
+     * 토큰이 삭제된 후 호출된다.
+     */
+    protected void removed(long id) {
+    }
+
+    /**
+     * id가 있는 토큰을 그대로 저장(추가 또는 교체)한다.
+     */
+    protected void put(StoredRefreshToken token) {
+        // 조회는 byHash -> tokens 순서이므로 tokens에 먼저 넣는다.
+        tokens.put(token.id(), token);
+        ids.add(token.id());
+        byHash.put(ByteBuffer.wrap(token.tokenHash()), token.id());
+        if (token.familyId() != null) {
+            byFamily.compute(token.familyId(), (key, set) -> add(set, token.id()));
+        }
+        byUser.compute(token.userId(), (key, set) -> add(set, token.id()));
+        sequence.accumulateAndGet(token.id(), Math::max);
+    }
+
+    /**
+     * 토큰과 index를 삭제한다.
+     * @return 삭제된 토큰, 없으면 null
+     */
+    protected StoredRefreshToken remove(long id) {
+        StoredRefreshToken token = tokens.remove(id);
+        if (token == null) {
+            return null;
+        }
+        ids.remove(id);
+        byHash.remove(ByteBuffer.wrap(token.tokenHash()), id);
+        if (token.familyId() != null) {
+            byFamily.computeIfPresent(token.familyId(), (key, set) -> drop(set, id));
+        }
+        byUser.computeIfPresent(token.userId(), (key, set) -> drop(set, id));
+        return token;
+    }
+
+    /**
+     * 토큰을 원자적으로 변경한다.
+     * @param change 변경된 토큰을 반환, 변경하지 않으면 null 반환
+     * @return 변경했으면 true
+     */
+    private boolean update(long id, UnaryOperator<StoredRefreshToken> change) {
+        StoredRefreshToken[] updated = new StoredRefreshToken[1];
+        tokens.computeIfPresent(id, (key, token) -> {
+            updated[0] = change.apply(token);
+            return updated[0] == null ? token : updated[0];
+        });
+        if (updated[0] == null) {
+            return false;
+        }
+        changed(updated[0]);
+        return true;
+    }
+
+    private List<StoredRefreshToken> userTokens(long userId) {
+        return byUser.getOrDefault(userId, Set.of()).stream()
+                .map(tokens::get)
+                .filter(token -> token != null)
+                .toList();
+    }
+
+    private static Set<Long> add(Set<Long> set, Long id) {
+        Set<Long> result = set == null ? ConcurrentHashMap.newKeySet() : set;
+        result.add(id);
+        return result;
+    }
+
+    private static Set<Long> drop(Set<Long> set, Long id) {
+        set.remove(id);
+        return set.isEmpty() ? null : set;
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.RefreshToken;
+import com.example.auth.entity.User;
+import com.example.auth.repository.RefreshTokenRepository;
+import com.example.auth.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * MySQL refresh_tokens 테이블을 사용하는 refresh token 저장소(기본값)
+ * 상태 변경은 조건부 UPDATE로 처리해서 여러 서버에서 동시에 사용해도 안전하다.
+ */
+@Component
+@Transactional
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    // 더 최신 시간이 이미 저장되어 있으면 덮어쓰지 않는다. version은 올리지 않는다.
+    private static final String UPDATE_LAST_USED_SQL =
+            "UPDATE refresh_tokens SET last_used_at = ? WHERE id = ? AND (last_used_at IS NULL OR last_used_at < ?)";
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public StoredRefreshToken save(StoredRefreshToken token) {
+        // 사용자는 FK로만 사용하므로 조회하지 않고 참조만 가져온다.
+        User user = userRepository.getReferenceById(token.userId());
+        RefreshToken entity = RefreshToken.builder()
+                .tokenHash(token.tokenHash())
+                .familyId(token.familyId())
+                .user(user)
+                .createdAt(token.createdAt())
+                .lastUsedAt(token.lastUsedAt())
+                .expiresAt(token.expiresAt())
+                .build();
+        return toStored(refreshTokenRepository.save(entity));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredRefreshToken> findByTokenHash(byte[] tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash).map(this::toStored);
+    }
+
+    @Override
+    public boolean markRotated(long id, long expectedVersion, LocalDateTime rotatedAt) {
+        return refreshTokenRepository.markRotated(id, expectedVersion, rotatedAt) > 0;
+    }
+
+    @Override
+    public boolean revoke(long id) {
+        return refreshTokenRepository.revokeById(id) > 0;
+    }
+
+    @Override
+    public int revokeFamily(String familyId) {
+        return refreshTokenRepository.revokeFamily(familyId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countLive(long userId, LocalDateTime now) {
+        return refreshTokenRepository.countLiveByUserId(userId, now);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findLeastRecentlyUsedLive(long userId, LocalDateTime now, int limit) {
+        return refreshTokenRepository.findLeastRecentlyUsedLiveIds(userId, now, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findPurgeable(long afterId, LocalDateTime now, int limit) {
+        return refreshTokenRepository.findPurgeableIds(afterId, now, PageRequest.ofSize(limit));
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        return refreshTokenRepository.deleteByIds(new ArrayList<>(ids));
+    }
+
+    @Override
+    public void updateLastUsed(Map<Long, LocalDateTime> lastUsed) {
+        if (lastUsed.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(lastUsed.size());
+        lastUsed.forEach((id, usedAt) -> {
+            Timestamp timestamp = Timestamp.valueOf(usedAt);
+            batch.add(new Object[]{timestamp, id, timestamp});
+        });
+        jdbcTemplate.batchUpdate(UPDATE_LAST_USED_SQL, batch);
+    }
+
+    private StoredRefreshToken toStored(RefreshToken entity) {
+        // user는 LAZY 이지만 id는 프록시 초기화 없이 가져올 수 있다.
+        return new StoredRefreshToken(
+                entity.getId(),
+                entity.getTokenHash(),
+                entity.getUser().getId(),
+                entity.getFamilyId(),
+                entity.getCreatedAt(),
+                entity.getExpiresAt(),
+                entity.getLastUsedAt(),
+                entity.getRotatedAt(),
+                entity.isRevoked(),
+                entity.getVersion() == null ? 0 : entity.getVersion()
+        );
+    }
+}
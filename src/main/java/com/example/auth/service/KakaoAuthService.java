@@ -4,14 +4,14 @@ import com.example.auth.config.KakaoOAuthProperties;
 import com.example.auth.dto.LoginResponse;
 import com.example.auth.dto.kakao.KakaoTokenResponse;
 import com.example.auth.dto.kakao.KakaoUserResponse;
-import com.example.auth.entity.RefreshToken;
 import com.example.auth.entity.User;
-import com.example.auth.repository.RefreshTokenRepository;
+import com.example.auth.event.UserChangedEvent;
 import com.example.auth.repository.UserRepository;
 import com.example.auth.security.JwtTokenProvider;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.util.LinkedMultiValueMap;
@@ -20,8 +20,7 @@ import org.springframework.web.client.RestClient;
 import org.springframework.web.util.UriComponentsBuilder;
 import tools.jackson.databind.ObjectMapper;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.util.Objects;
 import java.util.Optional;
 
 @Slf4j
@@ -30,10 +29,12 @@ import java.util.Optional;
 public class KakaoAuthService {
     private final KakaoOAuthProperties kakaoOAuthProperties;
     private final UserRepository userRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
+    private final RefreshTokenService refreshTokenService;
     private final JwtTokenProvider jwtTokenProvider;
     private final RestClient restClient = RestClient.create();
     private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     // 대문자는 상수로 인식해서 변경x
     @Value("${oauth.kakao.provider_name:KAKAO}")
@@ -53,7 +54,6 @@ public class KakaoAuthService {
                 .queryParam("response_type", "code")
                 .build()
                 .toUriString();
-        System.out.println(url);
         log.debug("카카오 인증 URL: {}", url);
         return url;
     }
@@ -77,13 +77,10 @@ public class KakaoAuthService {
                 .retrieve()
                 .body(KakaoTokenResponse.class);
 
-        try {
-            String resJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(kakaoTokenResponse);
-            System.out.println("=================================");
-            System.out.println(resJson);
-            System.out.println("=================================");
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
+        if (log.isDebugEnabled()) {
+            // 토큰 값은 로그에 남기지 않는다.
+            log.debug("카카오 토큰 응답 - tokenType: {}, expiresIn: {}, scope: {}",
+                    kakaoTokenResponse.getTokenType(), kakaoTokenResponse.getExpiresIn(), kakaoTokenResponse.getScope());
         }
 
         return kakaoTokenResponse;
@@ -101,13 +98,12 @@ public class KakaoAuthService {
                 .body(KakaoUserResponse.class);
 
         // debug전용. 나중에 삭제하는게 좋다.
-        try {
-            String resJson = objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(kakaoUserResponse);
-            System.out.println("=================================");
-            System.out.println(resJson);
-            System.out.println("=================================");
-        } catch (Exception e) {
-            System.out.println(e.getMessage());
+        if (log.isDebugEnabled()) {
+            try {
+                log.debug("카카오 사용자 정보: {}", objectMapper.writeValueAsString(kakaoUserResponse));
+            } catch (Exception e) {
+                log.debug("카카오 사용자 정보 변환 실패: {}", e.getMessage());
+            }
         }
 
         return kakaoUserResponse;
@@ -132,10 +128,13 @@ public class KakaoAuthService {
             // 이미 데이터베이스에 저장된 사용자라면...
             user = existingUser.get();
 
-            // 카카오에서 프로필 정보 업데이트한 내용을 우리 DB에 반영
-            user.setNickname(nickname);
-            user.setProfileImage(profileImage);
-            userRepository.save(user);
+            // 카카오에서 프로필 정보 업데이트한 내용을 우리 DB에 반영(바뀐 경우에만 저장하고 캐시를 무효화)
+            if (!Objects.equals(user.getNickname(), nickname) || !Objects.equals(user.getProfileImage(), profileImage)) {
+                user.setNickname(nickname);
+                user.setProfileImage(profileImage);
+                userRepository.save(user);
+                eventPublisher.publishEvent(new UserChangedEvent(user.getId()));
+            }
         } else {
             // 데이터베이스에 저장되지 않은 사용자라면...
             user = User.builder()
@@ -150,25 +149,15 @@ public class KakaoAuthService {
                     .build();
 
             userRepository.save(user);
+            registeredEmailFilter.add(email.trim().toLowerCase());
         }
         return  createLoginResponse(user);
     }
     private LoginResponse createLoginResponse(User user) {
         // 토큰을 생성
-        String accessToken = jwtTokenProvider.generateAccessToken(user.getEmail(), user.getId());
-        String refreshToken = jwtTokenProvider.generateRefreshToken(user.getEmail());
-
-        // refresh token은 데이터베이스에 저장한다.
-        RefreshToken refreshTokenEntity =  RefreshToken.builder()
-                .token(refreshToken)
-                .user(user)
-                .createdAt(LocalDateTime.now())
-                .expiresAt(LocalDateTime.ofInstant(
-                        jwtTokenProvider.getRefreshTokenExpiryDate().toInstant(),
-                        ZoneId.systemDefault()
-                )).build();
-
-        refreshTokenRepository.save(refreshTokenEntity);
+        String accessToken = jwtTokenProvider.generateAccessToken(user);
+        // refresh token은 digest로 데이터베이스에 저장한다.
+        String refreshToken = refreshTokenService.issue(user);
         // LoginResponse 인스턴스 생성.
         LoginResponse.UserInfo userInfo = LoginResponse.UserInfo.builder()
                 .id(user.getId())
@@ -0,0 +1,352 @@
+package com.example.auth.service;
+
+import com.example.auth.exception.FileStorageException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.zip.CRC32;
+
+/**
+ * 파일에 추가만 하는 로그(append-only log)와 메모리 index를 사용하는 refresh token 저장소
+ * 변경이 많은 refresh token 데이터를 MySQL 밖으로 옮기기 위해 사용한다.(서버 한 대용)
+ *
+ * - 조회는 메모리 index(InMemoryRefreshTokenStore)에서 처리한다.
+ * - 변경은 하나의 lock 안에서 메모리에 반영하고 변경된 토큰 전체(PUT) 또는 삭제(DEL)를 로그 끝에 추가한다.
+ * - 시작할 때 로그를 처음부터 다시 적용해서 메모리 index를 만든다.
+ *   마지막 레코드가 중간에 잘렸거나 checksum이 맞지 않으면 그 앞까지만 사용하고 나머지는 잘라낸다.
+ * - 로그에 쌓인 레코드가 저장된 토큰 수보다 충분히 많아지면 현재 토큰만 새 파일에 쓰고 교체한다.(compaction)
+ *
+ * 레코드 형식: [length:int][payload][crc32:long]
+ * 로그는 변경마다 OS 버퍼로 flush 하고, compaction과 종료 시에는 디스크에 sync 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "log")
+public class LogRefreshTokenStore extends InMemoryRefreshTokenStore {
+    private static final byte PUT = 1;
+    private static final byte DEL = 2;
+
+    // 로그 레코드 수가 저장된 토큰 수의 이 배수를 넘으면 compaction 한다.
+    private static final int COMPACTION_RATIO = 2;
+    private static final int MIN_COMPACTION_RECORDS = 1000;
+    // 이보다 긴 레코드는 손상된 것으로 본다.
+    private static final int MAX_RECORD_LENGTH = 4096;
+
+    private final Path path;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private FileOutputStream fileOut;
+    private DataOutputStream out;
+    // 현재 로그 파일의 레코드 수
+    private volatile long records;
+    // 로그를 적용 중이면 true(적용 중에는 다시 로그에 쓰지 않는다)
+    private boolean replaying;
+
+    public LogRefreshTokenStore(@Value("${auth.refresh-token.log.path:./data/refresh-tokens.log}") String path) {
+        this(Paths.get(path));
+    }
+
+    public LogRefreshTokenStore(Path path) {
+        this.path = path.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.path.getParent());
+            replay();
+            openAppend();
+        } catch (IOException e) {
+            throw new FileStorageException("refresh token 로그를 열 수 없습니다: " + this.path, e);
+        }
+        log.info("refresh token 로그 적용 완료 - 토큰: {}건, 레코드: {}건", size(), records);
+    }
+
+    @Override
+    public StoredRefreshToken save(StoredRefreshToken token) {
+        return write(() -> super.save(token));
+    }
+
+    @Override
+    public boolean markRotated(long id, long expectedVersion, LocalDateTime rotatedAt) {
+        return write(() -> super.markRotated(id, expectedVersion, rotatedAt));
+    }
+
+    @Override
+    public boolean revoke(long id) {
+        return write(() -> super.revoke(id));
+    }
+
+    @Override
+    public int revokeFamily(String familyId) {
+        return write(() -> super.revokeFamily(familyId));
+    }
+
+    @Override
+    public int deleteByIds(Collection<Long> ids) {
+        return write(() -> super.deleteByIds(ids));
+    }
+
+    @Override
+    public void updateLastUsed(Map<Long, LocalDateTime> lastUsed) {
+        write(() -> {
+            super.updateLastUsed(lastUsed);
+            return null;
+        });
+    }
+
+    @Override
+    protected void changed(StoredRefreshToken token) {
+        if (!replaying) {
+            append(encodePut(token));
+        }
+    }
+
+    @Override
+    protected void removed(long id) {
+        if (!replaying) {
+            append(encodeDelete(id));
+        }
+    }
+
+    /**
+     * 로그가 충분히 커졌으면 compaction 한다.
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh-token.log.compaction-interval:PT5M}")
+    public void compactIfNeeded() {
+        if (records > Math.max((long) size() * COMPACTION_RATIO, MIN_COMPACTION_RECORDS)) {
+            compact();
+        }
+    }
+
+    /**
+     * 현재 저장된 토큰만 새 로그 파일에 쓰고 기존 로그와 교체한다.
+     * 새 파일을 디스크에 sync 한 뒤 원자적으로 이름을 바꾸므로 중간에 종료되어도 기존 로그는 그대로 남는다.
+     */
+    public void compact() {
+        writeLock.lock();
+        try {
+            Path compacted = path.resolveSibling(path.getFileName() + ".compact");
+            long written = 0;
+            try (FileOutputStream fileOut = new FileOutputStream(compacted.toFile());
+                 DataOutputStream compactOut = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+                for (StoredRefreshToken token : snapshot()) {
+                    writeRecord(compactOut, encodePut(token));
+                    written++;
+                }
+                compactOut.flush();
+                fileOut.getFD().sync();
+            }
+
+            out.close();
+            Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            openAppend();
+
+            log.info("refresh token 로그 compaction - 레코드: {}건 -> {}건", records, written);
+            records = written;
+        } catch (IOException e) {
+            throw new FileStorageException("refresh token 로그 compaction 실패", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 현재 로그 파일의 레코드 수
+     */
+    public long records() {
+        return records;
+    }
+
+    @PreDestroy
+    public void close() {
+        writeLock.lock();
+        try {
+            out.flush();
+            fileOut.getFD().sync();
+            out.close();
+        } catch (IOException e) {
+            log.warn("refresh token 로그 종료 실패: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 변경 작업을 lock 안에서 실행하고 로그를 flush 한다.
+     * 메모리 반영 순서와 로그 기록 순서를 같게 유지하기 위해 모든 변경은 한 번에 하나씩 처리한다.
+     */
+    private <T> T write(Supplier<T> operation) {
+        writeLock.lock();
+        try {
+            T result = operation.get();
+            out.flush();
+            return result;
+        } catch (IOException e) {
+            throw new FileStorageException("refresh token 로그 기록 실패", e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void append(byte[] payload) {
+        try {
+            writeRecord(out, payload);
+            records++;
+        } catch (IOException e) {
+            throw new FileStorageException("refresh token 로그 기록 실패", e);
+        }
+    }
+
+    private void openAppend() throws IOException {
+        fileOut = new FileOutputStream(path.toFile(), true);
+        out = new DataOutputStream(new BufferedOutputStream(fileOut));
+    }
+
+    private void replay() throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        long validLength = 0;
+        replaying = true;
+        try (InputStream fileIn = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(fileIn))) {
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                        log.warn("refresh token 로그 레코드 길이 오류 - offset: {}", validLength);
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    if (in.readLong() != checksum(payload)) {
+                        log.warn("refresh token 로그 checksum 불일치 - offset: {}", validLength);
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                apply(payload);
+                records++;
+                validLength += Integer.BYTES + payload.length + Long.BYTES;
+            }
+        } finally {
+            replaying = false;
+        }
+
+        // 마지막에 잘린 레코드를 제거해서 이후 기록이 정상 레코드 뒤에 이어지도록 한다.
+        if (Files.size(path) > validLength) {
+            log.warn("refresh token 로그의 손상된 끝부분을 잘라냅니다 - {} bytes", Files.size(path) - validLength);
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                channel.truncate(validLength);
+            }
+        }
+    }
+
+    private void apply(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        byte type = in.readByte();
+        long id = in.readLong();
+        if (type == DEL) {
+            remove(id);
+            return;
+        }
+        byte[] tokenHash = new byte[in.readUnsignedByte()];
+        in.readFully(tokenHash);
+        long userId = in.readLong();
+        String familyId = in.readBoolean() ? in.readUTF() : null;
+        LocalDateTime createdAt = readTime(in);
+        LocalDateTime expiresAt = readTime(in);
+        LocalDateTime lastUsedAt = readTime(in);
+        LocalDateTime rotatedAt = readTime(in);
+        boolean revoked = in.readBoolean();
+        long version = in.readLong();
+        put(new StoredRefreshToken(id, tokenHash, userId, familyId, createdAt, expiresAt, lastUsedAt, rotatedAt, revoked, version));
+    }
+
+    private static byte[] encodePut(StoredRefreshToken token) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream data = new DataOutputStream(bytes);
+            data.writeByte(PUT);
+            data.writeLong(token.id());
+            data.writeByte(token.tokenHash().length);
+            data.write(token.tokenHash());
+            data.writeLong(token.userId());
+            data.writeBoolean(token.familyId() != null);
+            if (token.familyId() != null) {
+                data.writeUTF(token.familyId());
+            }
+            writeTime(data, token.createdAt());
+            writeTime(data, token.expiresAt());
+            writeTime(data, token.lastUsedAt());
+            writeTime(data, token.rotatedAt());
+            data.writeBoolean(token.revoked());
+            data.writeLong(token.version());
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            // ByteArrayOutputStream은 IOException이 발생하지 않는다.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] encodeDelete(long id) {
+        byte[] payload = new byte[1 + Long.BYTES];
+        payload[0] = DEL;
+        for (int i = 0; i < Long.BYTES; i++) {
+            payload[1 + i] = (byte) (id >>> (56 - 8 * i));
+        }
+        return payload;
+    }
+
+    private static void writeRecord(DataOutputStream target, byte[] payload) throws IOException {
+        target.writeInt(payload.length);
+        target.write(payload);
+        target.writeLong(checksum(payload));
+    }
+
+    private static long checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    private static void writeTime(DataOutputStream data, LocalDateTime time) throws IOException {
+        data.writeBoolean(time != null);
+        if (time != null) {
+            data.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+            data.writeInt(time.getNano());
+        }
+    }
+
+    private static LocalDateTime readTime(DataInputStream in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.User;
+import com.example.auth.exception.TooManyRequestsException;
+import com.example.auth.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 로그인에 성공한 사용자의 비밀번호가 이전 정책(cost)으로 해싱되어 있으면 현재 정책으로 다시 해싱한다.
+ * 로그인 응답을 늦추지 않도록 별도 스레드에서 처리한다.
+ *
+ * - 해싱은 PasswordEncoder(해싱 전용 풀)를 사용하므로 로그인이 몰리면 거절되고, 다음 로그인에 다시 시도한다.
+ * - 대기열이 가득 차도 버린다.(다음 로그인에 다시 시도)
+ * - 비밀번호 해시가 읽은 값 그대로일 때만 바꾼다.(그 사이 비밀번호가 변경되었으면 덮어쓰지 않음)
+ * - 평문 비밀번호는 작업이 끝날 때까지만 메모리에 남는다.
+ */
+@Slf4j
+@Component
+public class PasswordRehashService {
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+
+    private final Counter rehashed;
+    private final Counter dropped;
+
+    public PasswordRehashService(
+            PasswordEncoder passwordEncoder,
+            UserRepository userRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.password-rehash.queue-capacity:100}") int queueCapacity
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-rehash");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.rehashed = Counter.builder("auth.password.rehashed")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("auth.password.rehash.dropped")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 비밀번호 해시가 현재 정책보다 약하면 다시 해싱하도록 예약한다.
+     * @param user 로그인에 성공한 사용자(읽었을 때의 비밀번호 해시 포함)
+     * @param rawPassword 로그인에 사용한 비밀번호(일치 확인 완료)
+     */
+    public void rehashIfNeeded(User user, String rawPassword) {
+        String oldPassword = user.getPassword();
+        if (oldPassword == null || !passwordEncoder.upgradeEncoding(oldPassword)) {
+            return;
+        }
+        Long userId = user.getId();
+        try {
+            executor.execute(() -> rehash(userId, oldPassword, rawPassword));
+        } catch (RejectedExecutionException e) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void rehash(Long userId, String oldPassword, String rawPassword) {
+        try {
+            String newPassword = passwordEncoder.encode(rawPassword);
+            Integer updated = transactionTemplate.execute(status ->
+                    userRepository.updatePasswordIfUnchanged(userId, oldPassword, newPassword));
+            if (updated != null && updated > 0) {
+                rehashed.increment();
+                log.debug("비밀번호 재해싱 - userId: {}", userId);
+            }
+        } catch (TooManyRequestsException e) {
+            dropped.increment();
+        } catch (RuntimeException e) {
+            dropped.increment();
+            log.warn("비밀번호 재해싱 실패 - userId: {}, {}", userId, e.getMessage());
+        }
+    }
+}
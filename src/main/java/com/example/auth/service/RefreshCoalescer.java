@@ -0,0 +1,59 @@
+package com.example.auth.service;
+
+import com.example.auth.dto.TokenRefreshResponse;
+import com.example.auth.security.TokenDigests;
+import com.example.auth.support.SingleFlightCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * 같은 refresh token으로 동시에 들어온 refresh 요청을 하나로 합치는 클래스
+ * access token이 만료되면 클라이언트가 여러 요청을 동시에 보내면서 /api/refresh 가 한꺼번에 호출된다.
+ *
+ * - 같은 토큰으로 처리 중인 요청이 있으면 새로 처리하지 않고 그 결과를 기다린다.
+ * - 성공한 결과는 ttl 동안 보관해서 조금 늦게 도착한 요청에도 같은 결과를 돌려준다.
+ *   (rotation으로 이미 사용된 토큰이 되었으므로 다시 처리하면 실패한다.)
+ * - 실패한 결과는 보관하지 않는다.
+ * - 최대 max-size 개까지 보관한다.
+ */
+@Component
+public class RefreshCoalescer {
+    // key: refresh token digest
+    private final SingleFlightCache<String, TokenRefreshResponse> cache;
+
+    public RefreshCoalescer(
+            MeterRegistry meterRegistry,
+            @Value("${auth.refresh-coalescing.ttl:3s}") Duration ttl,
+            @Value("${auth.refresh-coalescing.max-size:10000}") int maxSize
+    ) {
+        this.cache = new SingleFlightCache<>(ttl, maxSize);
+
+        FunctionCounter.builder("auth.refresh.coalesced", cache, SingleFlightCache::getHitCount)
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh.coalescing.size", cache, SingleFlightCache::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 같은 refresh token에 대해 refresher를 한 번만 실행하고 결과를 공유한다.
+     * 호출한 쪽에서 응답 객체를 수정하므로 요청마다 복사본을 반환한다.
+     *
+     * @param refreshToken refresh token 원문
+     * @param refresher 실제 refresh 처리
+     * @return refresh 결과(복사본)
+     */
+    public TokenRefreshResponse refresh(String refreshToken, Function<String, TokenRefreshResponse> refresher) {
+        String key = TokenDigests.sha256Key(refreshToken);
+        return copy(cache.get(key, k -> copy(refresher.apply(refreshToken))));
+    }
+
+    private static TokenRefreshResponse copy(TokenRefreshResponse response) {
+        return new TokenRefreshResponse(response.getAccessToken(), response.getRefreshToken());
+    }
+}
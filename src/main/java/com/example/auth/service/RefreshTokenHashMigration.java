@@ -0,0 +1,54 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.RefreshToken;
+import com.example.auth.repository.RefreshTokenRepository;
+import com.example.auth.security.TokenDigests;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * 토큰 원문(token)만 저장되어 있는 이전 refresh token 데이터를 token_hash로 옮기는 작업
+ * 애플리케이션 시작 시 500개씩 나누어 처리하고, 옮긴 데이터의 원문은 지운다.
+ * 스키마 변경은 src/main/resources/db/refresh_tokens_token_hash.sql 참고.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "jpa", matchIfMissing = true)
+@SuppressWarnings("deprecation")
+public class RefreshTokenHashMigration implements ApplicationRunner {
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int total = 0;
+        while (true) {
+            Integer migrated = transactionTemplate.execute(status -> migrateBatch());
+            if (migrated == null || migrated == 0) {
+                break;
+            }
+            total += migrated;
+        }
+        if (total > 0) {
+            log.info("refresh token digest 마이그레이션 완료 - {}건", total);
+        }
+    }
+
+    private int migrateBatch() {
+        List<RefreshToken> tokens = refreshTokenRepository.findTop500ByTokenHashIsNullAndTokenIsNotNull();
+        for (RefreshToken token : tokens) {
+            token.setTokenHash(TokenDigests.sha256(token.getToken()));
+            token.setToken(null);
+        }
+        refreshTokenRepository.saveAll(tokens);
+        return tokens.size();
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 만료되었거나 폐기된 refresh token을 주기적으로 삭제하는 작업
+ * 로그인할 때마다 refresh_tokens에 row가 추가되므로 정리하지 않으면 테이블과 index가 계속 커진다.
+ *
+ * 한 번에 지우면 테이블 락이 길어져 로그인이 멈출 수 있으므로
+ * id 순서(keyset)로 batch-size 만큼씩 나누어 각각 별도의 트랜잭션으로 지우고, batch 사이에 잠시 쉰다.
+ * rotation에 사용된 토큰은 재사용 감지를 위해 만료될 때까지 남겨둔다.
+ */
+@Slf4j
+@Component
+public class RefreshTokenPurger {
+    private final RefreshTokenStore refreshTokenStore;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration throttle;
+
+    private final Counter purged;
+    private final Timer batchTimer;
+
+    public RefreshTokenPurger(
+            RefreshTokenStore refreshTokenStore,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${auth.refresh-token.purge.batch-size:500}") int batchSize,
+            @Value("${auth.refresh-token.purge.throttle:100ms}") Duration throttle
+    ) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.throttle = throttle;
+
+        this.purged = Counter.builder("auth.refresh.token.purged")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("auth.refresh.token.purge.batch")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${auth.refresh-token.purge.initial-delay:PT1M}",
+            fixedDelayString = "${auth.refresh-token.purge.interval:PT10M}")
+    public void purge() {
+        LocalDateTime now = LocalDateTime.now();
+        long lastId = 0;
+        long total = 0;
+
+        while (true) {
+            long from = lastId;
+            Batch batch = batchTimer.record(() -> transactionTemplate.execute(status -> purgeBatch(from, now)));
+            if (batch == null || batch.lastId() == null) {
+                break;
+            }
+            purged.increment(batch.deleted());
+            total += batch.deleted();
+            lastId = batch.lastId();
+
+            if (!sleep()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.info("만료/폐기된 refresh token 삭제 - {}건", total);
+        }
+    }
+
+    private Batch purgeBatch(long lastId, LocalDateTime now) {
+        List<Long> ids = refreshTokenStore.findPurgeable(lastId, now, batchSize);
+        if (ids.isEmpty()) {
+            return new Batch(null, 0);
+        }
+        int deleted = refreshTokenStore.deleteByIds(ids);
+        return new Batch(ids.get(ids.size() - 1), deleted);
+    }
+
+    private boolean sleep() {
+        if (throttle.isZero()) {
+            return true;
+        }
+        try {
+            Thread.sleep(throttle.toMillis());
+            return true;
+        } catch (InterruptedException e) {
+            // 종료 중이면 다음 주기에 이어서 삭제한다.
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @param lastId 이번 batch의 마지막 id, 대상이 없으면 null
+     * @param deleted 삭제된 row 수
+     */
+    private record Batch(Long lastId, int deleted) {
+    }
+}
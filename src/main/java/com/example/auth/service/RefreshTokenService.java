@@ -0,0 +1,179 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.User;
+import com.example.auth.exception.AccountException;
+import com.example.auth.exception.TokenException;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.security.JwtTokenProvider;
+import com.example.auth.security.TokenDigests;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Refresh Token 발급, 조회, rotation 서비스
+ * 저장소(RefreshTokenStore)에는 토큰 원문 대신 SHA-256 digest만 저장하고, 조회도 digest로 한다.
+ *
+ * rotation: refresh 할 때마다 같은 family의 새 토큰을 발급하고 기존 토큰은 사용됨(rotated_at)으로 표시한다.
+ * 이미 사용된 토큰이 다시 들어오면 탈취된 것으로 보고 family 전체를 폐기한다.
+ * 동시에 같은 토큰으로 refresh 하는 경우는 version 조건부 변경(낙관적 락)으로 한 요청만 성공시킨다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    private final RefreshTokenStore refreshTokenStore;
+    private final UserRepository userRepository;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final RefreshTokenUsageBuffer refreshTokenUsageBuffer;
+
+    // false 이면 기존처럼 같은 refresh token을 계속 사용한다.
+    @Value("${auth.refresh-token.rotation.enabled:true}")
+    private boolean rotationEnabled;
+
+    // 사용된 직후 이 시간 안에 다시 들어온 요청은 같은 클라이언트의 동시 요청으로 보고 family를 폐기하지 않는다.
+    @Value("${auth.refresh-token.rotation.reuse-grace:10s}")
+    private Duration reuseGrace;
+
+    // 사용자별 최대 세션(사용 가능한 refresh token) 수, 0 이하면 제한하지 않는다.
+    @Value("${auth.refresh-token.max-per-user:10}")
+    private int maxPerUser;
+
+    // 한 번에 제거하는 최대 세션 수(이미 많이 쌓인 사용자의 첫 로그인이 너무 길어지지 않도록)
+    private static final int MAX_EVICTION_PER_ISSUE = 1000;
+
+    /**
+     * refresh 결과
+     * @param user 토큰 소유자
+     * @param refreshToken 클라이언트가 다음에 사용할 refresh token 원문
+     */
+    public record Rotation(User user, String refreshToken) {
+    }
+
+    /**
+     * 새 로그인에 대한 refresh token을 발급하고 저장한다.
+     * @param user 사용자
+     * @return refresh token 원문(클라이언트에게 전달)
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID().toString());
+    }
+
+    /**
+     * 토큰 원문으로 저장된 refresh token을 찾는다.
+     * @param refreshToken refresh token 원문
+     * @return 저장된 refresh token
+     */
+    public Optional<StoredRefreshToken> findByToken(String refreshToken) {
+        return refreshTokenStore.findByTokenHash(TokenDigests.sha256(refreshToken));
+    }
+
+    /**
+     * refresh token을 사용한다. rotation이 켜져 있으면 같은 family의 새 토큰을 발급한다.
+     * family 폐기는 예외를 던지더라도 커밋되어야 하므로 TokenException은 rollback 하지 않는다.
+     *
+     * @param refreshToken refresh token 원문(서명 검증 완료)
+     * @param email refresh token의 subject
+     * @param sessionEpoch refresh token의 세션 epoch(sep)
+     * @return 사용자와 다음에 사용할 refresh token
+     */
+    @Transactional(noRollbackFor = TokenException.class)
+    public Rotation rotate(String refreshToken, String email, int sessionEpoch) {
+        StoredRefreshToken token = findByToken(refreshToken)
+                .orElseThrow(() -> new TokenException("유효하지 않은 Refresh Token입니다."));
+        LocalDateTime now = LocalDateTime.now();
+
+        if (token.revoked()) {
+            throw new TokenException("폐기된 Refresh Token입니다.");
+        }
+
+        // 이미 사용된 토큰의 재사용
+        if (token.isRotated()) {
+            if (token.rotatedAt().plus(reuseGrace).isBefore(now)) {
+                int revoked = token.familyId() != null
+                        ? refreshTokenStore.revokeFamily(token.familyId())
+                        : (refreshTokenStore.revoke(token.id()) ? 1 : 0);
+                log.warn("사용된 Refresh Token 재사용 감지 - family: {}, 폐기: {}건", token.familyId(), revoked);
+            }
+            throw new TokenException("이미 사용된 Refresh Token입니다.");
+        }
+
+        if (token.isExpired(now)) {
+            throw new TokenException("Refresh Token이 만료되었습니다.");
+        }
+
+        User user = userRepository.findById(token.userId()).orElse(null);
+        if (user == null || !user.getIsActive()) {
+            throw new AccountException("비활성화된 사용자입니다.");
+        }
+        if (!user.getEmail().equals(email)) {
+            throw new AccountException("잘못된 사용자입니다.");
+        }
+        if (sessionEpoch < user.getSessionEpochOrDefault()) {
+            // 모든 기기 로그아웃 이전에 발급된 토큰
+            throw new TokenException("로그아웃된 세션의 Refresh Token입니다.");
+        }
+
+        if (!rotationEnabled) {
+            // 사용 시간은 buffer에 기록해두고 주기적으로 한 번에 저장한다.
+            refreshTokenUsageBuffer.record(token.id(), now);
+            return new Rotation(user, refreshToken);
+        }
+
+        // 다른 요청(서버)이 먼저 사용했으면 version이 달라서 변경되지 않는다.
+        if (!refreshTokenStore.markRotated(token.id(), token.version(), now)) {
+            throw new TokenException("이미 사용된 Refresh Token입니다.");
+        }
+
+        // 이전 버전에서 발급된 토큰은 family가 없으므로 여기서 새로 시작한다.
+        String familyId = token.familyId() != null ? token.familyId() : UUID.randomUUID().toString();
+        return new Rotation(user, issue(user, familyId));
+    }
+
+    private String issue(User user, String familyId) {
+        // 새 토큰을 저장하기 전에 같은 트랜잭션에서 세션 수 제한을 적용한다.
+        evictLeastRecentlyUsed(user);
+
+        String refreshToken = jwtTokenProvider.generateRefreshToken(user);
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(
+                jwtTokenProvider.getRefreshTokenExpiryDate().toInstant(),
+                ZoneId.systemDefault()
+        );
+
+        // refresh token은 digest만 저장한다.
+        refreshTokenStore.save(StoredRefreshToken.issued(
+                TokenDigests.sha256(refreshToken), user.getId(), familyId, now, expiresAt));
+        return refreshToken;
+    }
+
+    /**
+     * 사용자의 세션이 최대 개수에 도달했으면 가장 오래 사용되지 않은 세션을 제거해서 새 토큰 자리를 만든다.
+     * @param user 사용자
+     */
+    private void evictLeastRecentlyUsed(User user) {
+        if (maxPerUser <= 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long excess = refreshTokenStore.countLive(user.getId(), now) - (maxPerUser - 1);
+        if (excess <= 0) {
+            return;
+        }
+
+        List<Long> ids = refreshTokenStore.findLeastRecentlyUsedLive(
+                user.getId(), now, (int) Math.min(excess, MAX_EVICTION_PER_ISSUE));
+        int deleted = refreshTokenStore.deleteByIds(ids);
+        log.debug("세션 수 제한으로 refresh token 제거 - userId: {}, {}건", user.getId(), deleted);
+    }
+}
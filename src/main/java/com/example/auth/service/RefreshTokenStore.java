@@ -0,0 +1,76 @@
+package com.example.auth.service;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * refresh token 저장소 인터페이스
+ * auth.refresh-token.store 설정으로 구현체를 선택한다.
+ *
+ * - jpa(기본값): MySQL refresh_tokens 테이블(JpaRefreshTokenStore)
+ * - memory: 메모리(InMemoryRefreshTokenStore), 테스트나 서버 한 대로 운영할 때 사용
+ * - log: 파일에 추가만 하는 로그 + 메모리 index(LogRefreshTokenStore)
+ *
+ * 모든 구현체는 RefreshTokenStoreConformanceTest를 통과해야 한다.
+ */
+public interface RefreshTokenStore {
+
+    /**
+     * 새 토큰을 저장한다.
+     * @param token id가 없는 토큰
+     * @return id가 발급된 토큰
+     */
+    StoredRefreshToken save(StoredRefreshToken token);
+
+    Optional<StoredRefreshToken> findByTokenHash(byte[] tokenHash);
+
+    /**
+     * 토큰을 사용됨(rotated)으로 표시한다.
+     * 다른 요청(서버)이 먼저 변경해서 version이 다르거나, 이미 사용/폐기된 토큰이면 변경하지 않는다.
+     * @param id 토큰 id
+     * @param expectedVersion 조회할 때의 version
+     * @param rotatedAt 사용 시간
+     * @return 변경했으면 true
+     */
+    boolean markRotated(long id, long expectedVersion, LocalDateTime rotatedAt);
+
+    /**
+     * @return 폐기했으면 true(없거나 이미 폐기된 토큰이면 false)
+     */
+    boolean revoke(long id);
+
+    /**
+     * 같은 family의 토큰을 모두 폐기한다.
+     * @return 폐기된 토큰 수
+     */
+    int revokeFamily(String familyId);
+
+    /**
+     * 사용자의 사용 가능한(폐기, 사용, 만료되지 않은) 토큰 수
+     */
+    long countLive(long userId, LocalDateTime now);
+
+    /**
+     * 사용자의 사용 가능한 토큰 id를 가장 오래 사용되지 않은 순서로 가져온다.
+     */
+    List<Long> findLeastRecentlyUsedLive(long userId, LocalDateTime now, int limit);
+
+    /**
+     * 만료되었거나 폐기된 토큰의 id를 id 순서로 가져온다.(afterId 보다 큰 id부터)
+     */
+    List<Long> findPurgeable(long afterId, LocalDateTime now, int limit);
+
+    /**
+     * @return 삭제된 토큰 수
+     */
+    int deleteByIds(Collection<Long> ids);
+
+    /**
+     * 마지막 사용 시간을 한 번에 저장한다. 저장된 값보다 이전 시간이면 무시한다.
+     * @param lastUsed key: 토큰 id, value: 마지막 사용 시간
+     */
+    void updateLastUsed(Map<Long, LocalDateTime> lastUsed);
+}
@@ -0,0 +1,123 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * refresh token의 마지막 사용 시간(last_used_at)을 모아서 저장하는 write-behind buffer
+ * refresh 할 때마다 UPDATE를 실행하지 않고 메모리에 토큰별 최신 시간만 남겨두었다가
+ * 주기적으로 저장소(RefreshTokenStore)에 한 번에 저장한다.(jpa 저장소는 batch UPDATE) 종료 시에도 남은 항목을 저장한다.
+ * max-pending 개가 쌓이면 주기를 기다리지 않고 별도 스레드에서 저장한다.
+ * (record()를 호출한 rotation 트랜잭션 안에서 저장하면, 그 트랜잭션이 rollback될 때 다른 토큰의 사용 시간까지 함께 사라진다.)
+ *
+ * version은 올리지 않는다.(사용 시간 기록 때문에 rotation이 낙관적 락 충돌로 실패하지 않도록)
+ */
+@Slf4j
+@Component
+public class RefreshTokenUsageBuffer {
+    private final RefreshTokenStore refreshTokenStore;
+    private final int maxPending;
+
+    // key: refresh token id, value: 마지막 사용 시간
+    private final Map<Long, LocalDateTime> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    // 실행 중인 flush 1개 + 대기 1개까지만 두고, 그 이상의 요청은 대기 중인 flush가 처리하므로 버린다.
+    private final ThreadPoolExecutor flushExecutor;
+
+    private final Counter flushed;
+
+    public RefreshTokenUsageBuffer(
+            RefreshTokenStore refreshTokenStore,
+            MeterRegistry meterRegistry,
+            @Value("${auth.refresh-token.usage-buffer.max-pending:10000}") int maxPending
+    ) {
+        this.refreshTokenStore = refreshTokenStore;
+        this.maxPending = maxPending;
+        this.flushExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "refresh-token-usage-flush");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+
+        this.flushed = Counter.builder("auth.refresh.token.usage.flushed")
+                .register(meterRegistry);
+        Gauge.builder("auth.refresh.token.usage.pending", pending, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 토큰 사용 시간을 기록한다. 같은 토큰은 가장 최신 시간만 남긴다.
+     * @param tokenId refresh token id
+     * @param usedAt 사용 시간
+     */
+    public void record(Long tokenId, LocalDateTime usedAt) {
+        pending.merge(tokenId, usedAt, (prev, next) -> next.isAfter(prev) ? next : prev);
+        if (pending.size() >= maxPending) {
+            // 주기를 기다리지 않고 저장해서 메모리 사용량을 제한한다.(호출한 쪽의 트랜잭션 밖에서)
+            flushExecutor.execute(this::flush);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.refresh-token.usage-buffer.flush-interval:PT30S}")
+    public void flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            Map<Long, LocalDateTime> batch = drain();
+            if (batch.isEmpty()) {
+                return;
+            }
+            refreshTokenStore.updateLastUsed(batch);
+            flushed.increment(batch.size());
+        } catch (RuntimeException ex) {
+            // 사용 시간은 부가 정보이므로 저장에 실패해도 요청 처리에는 영향을 주지 않는다.
+            log.warn("refresh token 사용 시간 저장 실패: {}", ex.getMessage());
+        } finally {
+            flushing.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() throws InterruptedException {
+        flushExecutor.shutdown();
+        flushExecutor.awaitTermination(10, TimeUnit.SECONDS);
+        // 진행 중인 flush가 끝날 때까지 기다렸다가 남은 항목을 저장한다.
+        while (!pending.isEmpty()) {
+            if (flushing.get()) {
+                Thread.onSpinWait();
+                continue;
+            }
+            flush();
+        }
+    }
+
+    private Map<Long, LocalDateTime> drain() {
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        for (Map.Entry<Long, LocalDateTime> entry : pending.entrySet()) {
+            // 꺼내는 사이 더 최신 시간이 기록되었으면 그 값은 다음 flush에서 저장된다.
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return batch;
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.auth.service;
+
+import com.example.auth.repository.UserRepository;
+import com.example.auth.support.BloomFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 가입된 이메일(정규화)의 Bloom filter
+ * 회원가입에서 확실히 없는 이메일은 중복 조회 없이 바로 가입을 진행하고,
+ * 있을 수 있는 이메일만 existsByEmail로 확인해서 중복 가입 시도에 BCrypt 해싱과 INSERT 실패가 발생하지 않도록 한다.
+ *
+ * - 애플리케이션 시작 시 users를 id 순서로 batch-size 만큼씩 읽어서 채운다.
+ *   다 채워지기 전에는 모든 이메일을 "있을 수 있음"으로 본다.
+ * - 이 서버에서 가입한 이메일은 저장 후 바로 추가한다.
+ *   다른 서버에서 가입한 이메일은 다음 시작 때 반영되지만, 그 사이에는 email unique 제약이 중복을 막는다.
+ * - 가입자가 expected-insertions를 넘으면 오탐이 늘어나므로 설정값을 늘려야 한다.
+ */
+@Slf4j
+@Component
+public class RegisteredEmailFilter implements ApplicationRunner {
+    private final UserRepository userRepository;
+    private final BloomFilter bloomFilter;
+    private final int expectedInsertions;
+    private final int batchSize;
+
+    private volatile boolean loaded;
+    private final LongAdder insertions = new LongAdder();
+
+    private final Counter definiteMisses;
+    private final Counter duplicates;
+    private final Counter falsePositives;
+
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.signup-email-filter.expected-insertions:1000000}") int expectedInsertions,
+            @Value("${auth.signup-email-filter.false-positive-probability:0.01}") double falsePositiveProbability,
+            @Value("${auth.signup-email-filter.batch-size:5000}") int batchSize
+    ) {
+        this.userRepository = userRepository;
+        this.bloomFilter = new BloomFilter(expectedInsertions, falsePositiveProbability);
+        this.expectedInsertions = expectedInsertions;
+        this.batchSize = batchSize;
+
+        this.definiteMisses = Counter.builder("auth.signup.email.filter")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.duplicates = Counter.builder("auth.signup.email.filter")
+                .tag("result", "duplicate")
+                .register(meterRegistry);
+        this.falsePositives = Counter.builder("auth.signup.email.filter")
+                .tag("result", "false_positive")
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.signup.email.filter.insertions", insertions, LongAdder::sum)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long lastId = 0;
+        long total = 0;
+        while (true) {
+            List<UserRepository.EmailView> batch =
+                    userRepository.findEmailsAfterId(lastId, PageRequest.of(0, batchSize));
+            for (UserRepository.EmailView user : batch) {
+                if (user.getEmail() != null) {
+                    add(normalize(user.getEmail()));
+                }
+            }
+            total += batch.size();
+            if (batch.size() < batchSize) {
+                break;
+            }
+            lastId = batch.get(batch.size() - 1).getId();
+        }
+        loaded = true;
+        log.info("가입 이메일 Bloom filter 로드 완료 - {}건, {} bytes", total, bloomFilter.sizeInBytes());
+        if (total > expectedInsertions) {
+            log.warn("가입자 수가 expected-insertions({})를 넘었습니다. 오탐이 늘어날 수 있습니다.", expectedInsertions);
+        }
+    }
+
+    /**
+     * 이미 가입된 이메일인지 확인한다.
+     * Bloom filter에 없으면 DB를 조회하지 않고 false, 있을 수 있으면 existsByEmail로 확인한다.
+     * @param email 정규화된 이메일
+     * @return 가입된 이메일이면 true
+     */
+    public boolean isRegistered(String email) {
+        if (loaded && !bloomFilter.mightContain(email)) {
+            definiteMisses.increment();
+            return false;
+        }
+        if (userRepository.existsByEmail(email)) {
+            duplicates.increment();
+            return true;
+        }
+        if (loaded) {
+            falsePositives.increment();
+        }
+        return false;
+    }
+
+    /**
+     * 가입된 이메일을 추가한다.(저장 후 호출)
+     * @param email 정규화된 이메일
+     */
+    public void add(String email) {
+        bloomFilter.put(email);
+        insertions.increment();
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase();
+    }
+}
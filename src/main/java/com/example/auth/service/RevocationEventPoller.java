@@ -0,0 +1,235 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.RevocationEvent;
+import com.example.auth.repository.RevocationEventRepository;
+import com.example.auth.security.AccessTokenDenylist;
+import com.example.auth.security.AccountRevocationRegistry;
+import com.example.auth.security.JwtTokenProvider;
+import com.example.auth.security.PrincipalCache;
+import com.example.auth.security.SessionEpochCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * revocation_events를 주기적으로 조회해서 이 서버의 캐시에 적용하는 작업
+ * 별도의 메시지 브로커 없이 MySQL만으로 다른 서버에서 발생한 폐기/변경을 전파한다.
+ * 전파 지연은 최대 poll-interval + 조회 시간이며 auth.revocation.propagation.lag 으로 측정한다.
+ *
+ * - 마지막으로 적용한 id(cursor) 이후를 batch-size 만큼씩 id 순서로 조회한다.
+ * - AUTO_INCREMENT id는 커밋 순서와 다를 수 있다.(id 9보다 id 10이 먼저 커밋될 수 있음)
+ *   조회 결과에 빠진 id(gap)는 gap-timeout 동안 따로 기억해두고 다시 조회한다.
+ *   rollback된 트랜잭션의 id는 끝내 나타나지 않으므로 gap-timeout이 지나면 포기한다.
+ * - 서버가 시작되면 보관 기간(access token 만료 시간) 안의 이벤트부터 적용한다.
+ *   (메모리에만 있는 access token denylist를 다시 채우기 위해)
+ * - 같은 서버에서 발생한 이벤트도 다시 적용되지만 모든 적용은 여러 번 해도 결과가 같다.
+ * - 보관 기간이 지난 이벤트는 주기적으로 batch 단위로 삭제한다.
+ *
+ * 전파 지연은 이벤트를 저장한 서버의 시간과 비교하므로 서버 간 시간이 맞아야(NTP) 정확하다.
+ */
+@Slf4j
+@Component
+public class RevocationEventPoller {
+    // 기억하는 최대 gap 수(AUTO_INCREMENT가 크게 건너뛴 경우 등)
+    private static final int MAX_PENDING_GAPS = 10_000;
+    // 비어 있던 테이블에서 시작했을 때 처음 본 id 아래로 gap으로 기다려 보는 id 수
+    // (시작할 때 커밋 중이던 트랜잭션의 id는 처음 본 id 바로 아래에 있다. 삭제된 이전 id는 gap-timeout 뒤에 포기)
+    private static final int INITIAL_GAP_LOOKBACK = 1_000;
+
+    private final RevocationEventRepository revocationEventRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final PrincipalCache principalCache;
+    private final SessionEpochCache sessionEpochCache;
+    private final AccountRevocationRegistry accountRevocationRegistry;
+    private final AccessTokenDenylist accessTokenDenylist;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final Duration retention;
+
+    // 마지막으로 적용한 id, 아직 시작 위치를 정하지 않았으면 -1
+    // 0이면 시작할 때 테이블이 비어 있었던 것이다.
+    private volatile long cursor = -1;
+    // 아직 커밋되지 않았을 수 있는 id -> 포기할 시간(nanoTime), 변경은 poll()에서만 한다.
+    private final Map<Long, Long> pendingGaps = new ConcurrentHashMap<>();
+
+    private final Timer lag;
+    private final Counter applied;
+    private final Counter gapsExpired;
+
+    public RevocationEventPoller(
+            RevocationEventRepository revocationEventRepository,
+            TransactionTemplate transactionTemplate,
+            PrincipalCache principalCache,
+            SessionEpochCache sessionEpochCache,
+            AccountRevocationRegistry accountRevocationRegistry,
+            AccessTokenDenylist accessTokenDenylist,
+            JwtTokenProvider jwtTokenProvider,
+            MeterRegistry meterRegistry,
+            @Value("${auth.revocation-events.batch-size:500}") int batchSize,
+            @Value("${auth.revocation-events.gap-timeout:PT30S}") Duration gapTimeout
+    ) {
+        this.revocationEventRepository = revocationEventRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.principalCache = principalCache;
+        this.sessionEpochCache = sessionEpochCache;
+        this.accountRevocationRegistry = accountRevocationRegistry;
+        this.accessTokenDenylist = accessTokenDenylist;
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        // 폐기된 access token은 만료되면 의미가 없으므로 그 시간 동안만 보관한다.
+        this.retention = Duration.ofMillis(jwtTokenProvider.getAccessTokenExpiration());
+
+        this.lag = Timer.builder("auth.revocation.propagation.lag")
+                .register(meterRegistry);
+        this.applied = Counter.builder("auth.revocation.events.applied")
+                .register(meterRegistry);
+        this.gapsExpired = Counter.builder("auth.revocation.events.gaps.expired")
+                .register(meterRegistry);
+        Gauge.builder("auth.revocation.events.pending.gaps", pendingGaps, Map::size)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 새 이벤트와 아직 커밋되지 않았던 gap을 조회해서 캐시에 적용한다.
+     * @return 적용한 이벤트 수
+     */
+    @Scheduled(fixedDelayString = "${auth.revocation-events.poll-interval:PT1S}")
+    public synchronized int poll() {
+        if (cursor < 0) {
+            cursor = initialCursor();
+        }
+        int count = recheckGaps();
+
+        while (true) {
+            List<RevocationEvent> events =
+                    revocationEventRepository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, batchSize));
+            for (RevocationEvent event : events) {
+                if (cursor == 0) {
+                    // 비어 있던 테이블에서 시작했으면 처음 본 id보다 먼저 id를 받고 늦게 커밋되는 이벤트가 있을 수 있다.
+                    addGaps(Math.max(1, event.getId() - INITIAL_GAP_LOOKBACK), event.getId());
+                } else {
+                    addGaps(cursor + 1, event.getId());
+                }
+                apply(event);
+                cursor = event.getId();
+            }
+            count += events.size();
+            if (events.size() < batchSize) {
+                return count;
+            }
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 이벤트를 batch 단위로 삭제한다.
+     */
+    @Scheduled(initialDelayString = "${auth.revocation-events.purge.initial-delay:PT1M}",
+            fixedDelayString = "${auth.revocation-events.purge.interval:PT10M}")
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(retention);
+        long total = 0;
+        while (true) {
+            Integer deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = revocationEventRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, batchSize));
+                return ids.isEmpty() ? 0 : revocationEventRepository.deleteByIds(ids);
+            });
+            if (deleted == null || deleted == 0) {
+                break;
+            }
+            total += deleted;
+        }
+        if (total > 0) {
+            log.info("보관 기간이 지난 revocation event 삭제 - {}건", total);
+        }
+    }
+
+    /**
+     * 마지막으로 적용한 id
+     */
+    public long cursor() {
+        return cursor;
+    }
+
+    public int pendingGapCount() {
+        return pendingGaps.size();
+    }
+
+    private long initialCursor() {
+        LocalDateTime since = LocalDateTime.now().minus(retention);
+        return revocationEventRepository.findFirstByCreatedAtGreaterThanEqualOrderByIdAsc(since)
+                .map(event -> event.getId() - 1)
+                .orElseGet(() -> revocationEventRepository.findMaxId().orElse(0L));
+    }
+
+    /**
+     * 이전에 빠져 있던 id 중 이제 커밋된 이벤트를 적용하고, 기다리는 시간이 지난 gap은 포기한다.
+     */
+    private int recheckGaps() {
+        if (pendingGaps.isEmpty()) {
+            return 0;
+        }
+        List<RevocationEvent> found = revocationEventRepository.findAllById(pendingGaps.keySet());
+        for (RevocationEvent event : found) {
+            apply(event);
+            pendingGaps.remove(event.getId());
+        }
+
+        long now = System.nanoTime();
+        int before = pendingGaps.size();
+        pendingGaps.values().removeIf(deadline -> now - deadline >= 0);
+        gapsExpired.increment(before - pendingGaps.size());
+        return found.size();
+    }
+
+    private void addGaps(long fromId, long toIdExclusive) {
+        if (toIdExclusive <= fromId) {
+            return;
+        }
+        if (pendingGaps.size() + (toIdExclusive - fromId) > MAX_PENDING_GAPS) {
+            log.warn("revocation event id gap이 너무 큽니다 - {} ~ {}", fromId, toIdExclusive - 1);
+            return;
+        }
+        long deadline = System.nanoTime() + gapTimeoutNanos;
+        for (long id = fromId; id < toIdExclusive; id++) {
+            pendingGaps.put(id, deadline);
+        }
+    }
+
+    private void apply(RevocationEvent event) {
+        Long userId = event.getUserId();
+        switch (event.getType()) {
+            case USER_CHANGED -> {
+                // 이전 버전의 서버가 저장한 이벤트
+                principalCache.invalidate(userId);
+                sessionEpochCache.invalidate(userId);
+            }
+            case ACCOUNT_VERSION -> {
+                accountRevocationRegistry.revokeBefore(userId, event.getVersion());
+                principalCache.invalidate(userId);
+                sessionEpochCache.invalidate(userId);
+            }
+            case ACCESS_TOKEN -> accessTokenDenylist.revoke(event.getTokenId(),
+                    event.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+        applied.increment();
+
+        Duration elapsed = Duration.between(event.getCreatedAt(), LocalDateTime.now());
+        if (!elapsed.isNegative()) {
+            lag.record(elapsed);
+        }
+    }
+}
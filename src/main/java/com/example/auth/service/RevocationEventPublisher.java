@@ -0,0 +1,53 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.RevocationEvent;
+import com.example.auth.repository.RevocationEventRepository;
+import com.example.auth.security.VerifiedToken;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * 다른 서버의 캐시에 반영할 폐기 이벤트를 revocation_events에 저장한다.
+ * 변경과 같은 트랜잭션에서 저장하므로 변경이 커밋된 경우에만 다른 서버에 전파된다.
+ * 토큰을 거부해야 하는 변경(권한 변경, 비활성화, 모든 기기 로그아웃, access token 폐기)만 저장한다.
+ * 닉네임 같은 사용자 정보 변경은 저장하지 않는다.(다른 서버의 사용자 캐시는 ttl이 지나면 다시 조회)
+ */
+@Component
+@RequiredArgsConstructor
+public class RevocationEventPublisher {
+    private final RevocationEventRepository revocationEventRepository;
+
+    /**
+     * 권한 변경, 비활성화, 모든 기기 로그아웃으로 계정 상태 버전이 바뀌었음을 전파한다.
+     * @param userId 사용자 id
+     * @param accountVersion 변경된(현재) 계정 상태 버전
+     */
+    @Transactional
+    public void accountVersionChanged(Long userId, int accountVersion) {
+        save(RevocationEvent.builder()
+                .type(RevocationEvent.Type.ACCOUNT_VERSION)
+                .userId(userId)
+                .version(accountVersion));
+    }
+
+    /**
+     * access token 폐기를 전파한다.
+     * @param token 폐기된 access token
+     */
+    @Transactional
+    public void accessTokenRevoked(VerifiedToken token) {
+        save(RevocationEvent.builder()
+                .type(RevocationEvent.Type.ACCESS_TOKEN)
+                .userId(token.userId())
+                .tokenId(token.tokenId())
+                .expiresAt(LocalDateTime.ofInstant(token.expiresAt(), ZoneId.systemDefault())));
+    }
+
+    private void save(RevocationEvent.RevocationEventBuilder builder) {
+        revocationEventRepository.save(builder.createdAt(LocalDateTime.now()).build());
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.auth.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * RefreshTokenStore에 저장되는 refresh token 정보(불변 객체)
+ * 변경은 항상 새 객체를 만들어서 저장소에 반영한다.
+ *
+ * @param id         저장소가 발급한 id(저장 전에는 null)
+ * @param tokenHash  토큰 원문의 SHA-256 digest
+ * @param userId     사용자 id
+ * @param familyId   rotation으로 이어지는 토큰들이 공유하는 id
+ * @param createdAt  발급 시간
+ * @param expiresAt  만료 시간
+ * @param lastUsedAt 마지막 사용 시간
+ * @param rotatedAt  rotation에 사용된 시간(사용되지 않았으면 null)
+ * @param revoked    폐기 여부
+ * @param version    낙관적 락 버전
+ */
+public record StoredRefreshToken(
+        Long id,
+        byte[] tokenHash,
+        Long userId,
+        String familyId,
+        LocalDateTime createdAt,
+        LocalDateTime expiresAt,
+        LocalDateTime lastUsedAt,
+        LocalDateTime rotatedAt,
+        boolean revoked,
+        long version
+) {
+    /**
+     * 새로 발급한 토큰(id 없음)
+     */
+    public static StoredRefreshToken issued(byte[] tokenHash, Long userId, String familyId,
+                                            LocalDateTime createdAt, LocalDateTime expiresAt) {
+        return new StoredRefreshToken(null, tokenHash, userId, familyId, createdAt, expiresAt, createdAt, null, false, 0);
+    }
+
+    public boolean isExpired(LocalDateTime now) {
+        return now.isAfter(expiresAt);
+    }
+
+    public boolean isRotated() {
+        return rotatedAt != null;
+    }
+
+    /**
+     * 사용 가능한 토큰(세션)인지 확인
+     * @return 폐기, 사용, 만료되지 않았으면 true
+     */
+    public boolean isLive(LocalDateTime now) {
+        return !revoked && rotatedAt == null && expiresAt.isAfter(now);
+    }
+
+    /**
+     * purge 대상인지 확인
+     * @return 만료되었거나 폐기되었으면 true
+     */
+    public boolean isPurgeable(LocalDateTime now) {
+        return revoked || expiresAt.isBefore(now);
+    }
+
+    StoredRefreshToken withId(Long id) {
+        return new StoredRefreshToken(id, tokenHash, userId, familyId, createdAt, expiresAt, lastUsedAt, rotatedAt, revoked, version);
+    }
+
+    StoredRefreshToken asRotated(LocalDateTime at) {
+        return new StoredRefreshToken(id, tokenHash, userId, familyId, createdAt, expiresAt, at, at, revoked, version + 1);
+    }
+
+    StoredRefreshToken asRevoked() {
+        return new StoredRefreshToken(id, tokenHash, userId, familyId, createdAt, expiresAt, lastUsedAt, rotatedAt, true, version + 1);
+    }
+
+    StoredRefreshToken withLastUsedAt(LocalDateTime at) {
+        return new StoredRefreshToken(id, tokenHash, userId, familyId, createdAt, expiresAt, at, rotatedAt, revoked, version);
+    }
+}
@@ -0,0 +1,384 @@
+package com.example.auth.service;
+
+import com.example.auth.dto.RequestSignup;
+import com.example.auth.entity.User;
+import com.example.auth.security.BoundedPasswordEncoder;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * 관리자용 대량 사용자 등록(테넌트 이전 등)
+ * NDJSON 또는 CSV를 한 줄씩 읽어서 batch-size 만큼 모아 처리하고, 줄마다 결과를 NDJSON으로 바로 내보낸다.
+ * 한 번에 한 batch만 메모리에 두므로 파일 크기와 관계없이 메모리 사용량이 일정하다.
+ *
+ * - 검증은 회원가입(RequestSignup)과 같은 규칙을 사용한다.
+ * - 이미 가입된 이메일은 batch마다 IN 조회 한 번으로 확인한다.
+ * - 비밀번호는 전용 스레드 풀에서 병렬로 해싱한다.(로그인용 해싱 풀의 대기열을 사용하지 않음)
+ * - INSERT는 Hibernate를 거치지 않고 JDBC batch로 실행한다.
+ *   User는 IDENTITY(AUTO_INCREMENT) id를 사용해서 Hibernate batch insert가 꺼지지만 JDBC batch는 영향이 없다.
+ *   MySQL 드라이버는 JDBC URL에 rewriteBatchedStatements=true가 없으면 batch의 INSERT를 한 문장씩 보낸다.
+ *   (multi-row INSERT로 보내려면 운영 datasource URL에 설정한다.)
+ * - batch 중에 다른 요청이 같은 이메일로 가입해서 INSERT가 실패하면 그 batch만 한 줄씩 다시 INSERT 한다.
+ *
+ * 입력 형식
+ * - NDJSON: {"email": "...", "password": "...", "username": "..."}
+ * - CSV: email,password,username (첫 줄이 header "email,password,username"과 같으면(대소문자, 공백 무시) 건너뜀, 큰따옴표 지원)
+ */
+@Slf4j
+@Service
+public class UserImportService {
+    private static final String INSERT_SQL =
+            "INSERT INTO users (email, password, nickname, role, is_active, provider, " +
+                    "account_version, session_epoch, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, 0, 0, ?, ?)";
+    private static final int MAX_NICKNAME_LENGTH = 100;
+    // CSV 첫 줄이 이 header와 정확히 같을 때만 건너뛴다.(email로 시작하는 실제 이메일 줄은 처리)
+    private static final Pattern CSV_HEADER =
+            Pattern.compile("\\s*email\\s*,\\s*password\\s*,\\s*username\\s*", Pattern.CASE_INSENSITIVE);
+
+    public enum Format { NDJSON, CSV }
+
+    public enum Status { CREATED, DUPLICATE, INVALID, FAILED }
+
+    /**
+     * 한 줄의 처리 결과
+     * @param line 입력 줄 번호(1부터)
+     * @param email 이메일(정규화)
+     * @param status 결과
+     * @param message 실패 사유
+     */
+    public record RowResult(long line, String email, Status status, String message) {
+    }
+
+    /**
+     * 전체 처리 결과(마지막 줄)
+     */
+    public record Summary(long total, long created, long duplicate, long invalid, long failed) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final ExecutorService hashingExecutor;
+    private final int batchSize;
+
+    private final Map<Status, Counter> rows = new EnumMap<>(Status.class);
+    private final Timer batchTimer;
+
+    public UserImportService(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            PasswordEncoder passwordEncoder,
+            Validator validator,
+            ObjectMapper objectMapper,
+            RegisteredEmailFilter registeredEmailFilter,
+            MeterRegistry meterRegistry,
+            @Value("${auth.user-import.batch-size:500}") int batchSize,
+            @Value("${auth.user-import.hashing-threads:0}") int hashingThreads
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        // 자체 스레드 풀에서 해싱하므로 로그인용 풀(BoundedPasswordEncoder)을 거치지 않는다.
+        this.passwordEncoder = passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? bounded.getDelegate() : passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.batchSize = batchSize;
+
+        // 기본값은 CPU 코어의 절반(로그인 처리에 사용할 CPU를 남겨둠)
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger sequence = new AtomicInteger();
+        this.hashingExecutor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hashing-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (Status status : Status.values()) {
+            rows.put(status, Counter.builder("auth.user.import.rows")
+                    .tag("status", status.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.batchTimer = Timer.builder("auth.user.import.batch")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 입력을 끝까지 읽어서 사용자를 등록하고 줄마다 결과를 out에 NDJSON으로 쓴다.
+     * @param in 업로드 내용
+     * @param format 입력 형식
+     * @param out 결과를 쓸 스트림
+     * @return 전체 처리 결과
+     */
+    public Summary importUsers(InputStream in, Format format, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        Map<Status, Long> counts = new EnumMap<>(Status.class);
+        List<Row> batch = new ArrayList<>(batchSize);
+
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (format == Format.CSV && lineNumber == 1 && isCsvHeader(line))) {
+                continue;
+            }
+            batch.add(parse(lineNumber, line, format));
+            if (batch.size() >= batchSize) {
+                write(writer, processBatch(batch), counts);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(writer, processBatch(batch), counts);
+        }
+
+        Summary summary = new Summary(
+                counts.values().stream().mapToLong(Long::longValue).sum(),
+                counts.getOrDefault(Status.CREATED, 0L),
+                counts.getOrDefault(Status.DUPLICATE, 0L),
+                counts.getOrDefault(Status.INVALID, 0L),
+                counts.getOrDefault(Status.FAILED, 0L));
+        writer.write(objectMapper.writeValueAsString(summary));
+        writer.write('\n');
+        writer.flush();
+        log.info("대량 사용자 등록 완료 - {}", summary);
+        return summary;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingExecutor.shutdown();
+    }
+
+    private List<RowResult> processBatch(List<Row> batch) {
+        return batchTimer.record(() -> {
+            List<RowResult> results = new ArrayList<>(batch.size());
+            List<Row> candidates = new ArrayList<>(batch.size());
+            Set<String> seen = new HashSet<>();
+            for (Row row : batch) {
+                if (row.error() != null) {
+                    results.add(row.result(Status.INVALID, row.error()));
+                } else if (!seen.add(row.email())) {
+                    results.add(row.result(Status.DUPLICATE, "파일 안에서 중복된 이메일입니다."));
+                } else {
+                    candidates.add(row);
+                }
+            }
+
+            Set<String> existing = findExistingEmails(candidates);
+            List<Row> toInsert = new ArrayList<>(candidates.size());
+            for (Row row : candidates) {
+                if (existing.contains(row.email())) {
+                    results.add(row.result(Status.DUPLICATE, "이미 가입된 이메일입니다."));
+                } else {
+                    toInsert.add(row);
+                }
+            }
+
+            List<String> hashes = hashAll(toInsert);
+            results.addAll(insert(toInsert, hashes));
+            return results;
+        });
+    }
+
+    private Set<String> findExistingEmails(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return Set.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(rows.size(), "?"));
+        Object[] emails = rows.stream().map(Row::email).toArray();
+        return new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT email FROM users WHERE email IN (" + placeholders + ")", String.class, emails));
+    }
+
+    private List<String> hashAll(List<Row> rows) {
+        List<CompletableFuture<String>> futures = rows.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.password()), hashingExecutor))
+                .toList();
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    private List<RowResult> insert(List<Row> rows, List<String> hashes) {
+        if (rows.isEmpty()) {
+            return List.of();
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            bind(ps, rows.get(i), hashes.get(i), now);
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    }));
+            List<RowResult> results = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                registeredEmailFilter.add(row.email());
+                results.add(row.result(Status.CREATED, null));
+            }
+            return results;
+        } catch (DataIntegrityViolationException e) {
+            // 그 사이 다른 요청이 가입한 이메일이 있으면 batch 전체가 rollback 되므로 한 줄씩 다시 넣는다.
+            return insertOneByOne(rows, hashes, now);
+        }
+    }
+
+    private List<RowResult> insertOneByOne(List<Row> rows, List<String> hashes, Timestamp now) {
+        List<RowResult> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            String hash = hashes.get(i);
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row, hash, now));
+                registeredEmailFilter.add(row.email());
+                results.add(row.result(Status.CREATED, null));
+            } catch (DataIntegrityViolationException e) {
+                results.add(row.result(Status.DUPLICATE, "이미 가입된 이메일입니다."));
+            } catch (RuntimeException e) {
+                log.warn("사용자 등록 실패 - line: {}, {}", row.line(), e.getMessage());
+                results.add(row.result(Status.FAILED, "저장 중 오류가 발생했습니다."));
+            }
+        }
+        return results;
+    }
+
+    private static void bind(PreparedStatement ps, Row row, String hash, Timestamp now) throws SQLException {
+        ps.setString(1, row.email());
+        ps.setString(2, hash);
+        ps.setString(3, row.username());
+        ps.setString(4, User.Role.ROLE_USER.name());
+        ps.setBoolean(5, true);
+        ps.setString(6, "LOCAL");
+        ps.setTimestamp(7, now);
+        ps.setTimestamp(8, now);
+    }
+
+    private void write(Writer writer, List<RowResult> results, Map<Status, Long> counts) throws IOException {
+        results.sort(Comparator.comparingLong(RowResult::line));
+        for (RowResult result : results) {
+            writer.write(objectMapper.writeValueAsString(result));
+            writer.write('\n');
+            counts.merge(result.status(), 1L, Long::sum);
+            rows.get(result.status()).increment();
+        }
+        // batch마다 결과를 클라이언트에 바로 보낸다.
+        writer.flush();
+    }
+
+    private Row parse(long line, String text, Format format) {
+        RequestSignup request;
+        try {
+            request = format == Format.NDJSON ? objectMapper.readValue(text, RequestSignup.class) : parseCsv(text);
+        } catch (JacksonException | IllegalArgumentException e) {
+            return Row.invalid(line, null, "형식이 올바르지 않습니다.");
+        }
+
+        String email = request.getEmail() == null ? null : request.getEmail().trim().toLowerCase();
+        Set<ConstraintViolation<RequestSignup>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return Row.invalid(line, email, violations.iterator().next().getMessage());
+        }
+        if (request.getUsername().length() > MAX_NICKNAME_LENGTH) {
+            return Row.invalid(line, email, "사용자명이 너무 깁니다.");
+        }
+        return new Row(line, email, request.getPassword(), request.getUsername(), null);
+    }
+
+    private static boolean isCsvHeader(String line) {
+        return CSV_HEADER.matcher(line).matches();
+    }
+
+    /**
+     * email,password,username 형식의 CSV 한 줄(큰따옴표로 감싼 값, "" escape 지원)
+     */
+    private static RequestSignup parseCsv(String line) {
+        List<String> fields = new ArrayList<>(3);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        if (quoted || fields.size() != 3) {
+            throw new IllegalArgumentException("CSV 필드 수가 올바르지 않습니다.");
+        }
+        return new RequestSignup(fields.get(0), fields.get(1), fields.get(2));
+    }
+
+    private record Row(long line, String email, String password, String username, String error) {
+        static Row invalid(long line, String email, String error) {
+            return new Row(line, email, null, null, error);
+        }
+
+        RowResult result(Status status, String message) {
+            return new RowResult(line, email, status, message);
+        }
+    }
+}
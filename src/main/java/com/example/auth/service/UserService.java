@@ -4,11 +4,16 @@ import com.example.auth.dto.UserProfileResponse;
 import com.example.auth.dto.UserProfileUpdateRequest;
 import com.example.auth.entity.User;
 import com.example.auth.entity.UserProfile;
+import com.example.auth.event.UserChangedEvent;
 import com.example.auth.exception.InvalidCredentialException;
 import com.example.auth.repository.UserProfileRepository;
 import com.example.auth.repository.UserRepository;
+import com.example.auth.security.AccountRevocationRegistry;
+import com.example.auth.security.AuthUser;
+import com.example.auth.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +25,10 @@ import java.util.Optional;
 public class UserService {
     private final UserRepository userRepository;
     private final UserProfileRepository userProfileRepository;
+    private final AccountRevocationRegistry accountRevocationRegistry;
+    private final RevocationEventPublisher revocationEventPublisher;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PrincipalCache principalCache;
 
     /**
      * 새로운 User Profile 정보를 기본값으로 생성한다.
@@ -60,15 +69,15 @@ public class UserService {
         user.setNickname(userProfileReq.getName());
         user.setProfileImage(userProfileReq.getProfileImage());
         userRepository.save(user);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
         
-        System.out.println("사용자 정보 저장 완료");
+        log.debug("사용자 정보 저장 완료 - userId: {}", userId);
         
         UserProfile userProfile = userProfileRepository.findByUser(user)
                 .orElseGet(() -> {
-                    System.out.println("사용자 ID : " + userId);
                     Optional<User> userOpt = userRepository.findById(userId);
-                    
-                    System.out.println("사용자 프로필 정보 생성 완료");
+
+                    log.debug("사용자 프로필 정보 생성 완료 - userId: {}", userId);
 
                     return UserProfile.builder()
                             .user(userOpt.get())
@@ -83,12 +92,12 @@ public class UserService {
         userProfile.setPhoneNumber(userProfileReq.getPhoneNumber());
         userProfile.setBgImage(userProfileReq.getBgImage());
 
-        System.out.println("신규 프로필에 입력된 프로필 정보 수정");
+        log.debug("신규 프로필에 입력된 프로필 정보 수정 - userId: {}", userId);
         
         // 기본값으로 저장하고 저장된 결과를 받아옴
         UserProfile saveduserProfile = userProfileRepository.save(userProfile);
 
-        System.out.println("수정한 프로필 정보 저장");
+        log.debug("수정한 프로필 정보 저장 - userId: {}", userId);
 
         // UserProfileRepository반환값 생성하여
         return UserProfile.toUserProfileResponse(user, saveduserProfile);
@@ -117,4 +126,84 @@ public class UserService {
         // userProfileResponse 인스턴스에 데이터를 저장하고 반환한다.
         return UserProfile.toUserProfileResponse(user, userProfile);
     }
+
+    /**
+     * 현재 사용자 정보(/api/me)
+     * stateless 인증 모드에서 토큰 claim만으로 만든 사용자 정보에는 닉네임, 프로필 이미지, 가입 경로, 가입 시간이 없다.
+     * 토큰 크기를 늘리지 않고 응답 형식을 유지하기 위해 이 경우에만 사용자 캐시(없으면 DB)에서 조회한다.
+     * @param principal 인증된 사용자 정보
+     * @return 모든 값이 채워진 사용자 정보, 조회되지 않으면 principal 그대로
+     */
+    public AuthUser getCurrentUser(AuthUser principal) {
+        if (!principal.isFromToken()) {
+            return principal;
+        }
+        AuthUser user = principalCache.get(principal.id(),
+                userId -> userRepository.findById(userId)
+                        .filter(User::getIsActive)
+                        .map(AuthUser::from)
+                        .orElse(null));
+        return user != null ? user : principal;
+    }
+
+    /**
+     * 사용자의 권한을 변경한다.
+     * 계정 상태 버전이 올라가므로 이전 권한으로 발급된 access token은 사용할 수 없게 된다.
+     * @param userId 사용자 id
+     * @param role 변경할 권한
+     */
+    @Transactional
+    public void changeRole(Long userId, User.Role role) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new InvalidCredentialException("존재하지 않는 사용자입니다."));
+
+        user.setRole(role);
+        int accountVersion = user.increaseAccountVersion();
+        userRepository.save(user);
+
+        accountRevocationRegistry.revokeBefore(userId, accountVersion);
+        revocationEventPublisher.accountVersionChanged(userId, accountVersion);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        log.info("사용자 권한 변경 - userId: {}, role: {}", userId, role);
+    }
+
+    /**
+     * 사용자 계정을 비활성화한다.
+     * 계정 상태 버전이 올라가므로 이미 발급된 access token도 사용할 수 없게 된다.
+     * @param userId 사용자 id
+     */
+    @Transactional
+    public void deactivate(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new InvalidCredentialException("존재하지 않는 사용자입니다."));
+
+        user.setIsActive(false);
+        int accountVersion = user.increaseAccountVersion();
+        userRepository.save(user);
+
+        accountRevocationRegistry.revokeBefore(userId, accountVersion);
+        revocationEventPublisher.accountVersionChanged(userId, accountVersion);
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        log.info("사용자 계정 비활성화 - userId: {}", userId);
+    }
+
+    /**
+     * 모든 기기에서 로그아웃한다.
+     * 세션 epoch를 증가시키는 한 row UPDATE로 이미 발급된 access token, refresh token을 모두 사용할 수 없게 된다.
+     * 같은 UPDATE에서 계정 상태 버전도 올리므로 stateless 인증 모드에서도 이전 access token을 거부한다.
+     * @param userId 사용자 id
+     */
+    @Transactional
+    public void logoutAllSessions(Long userId) {
+        int updated = userRepository.incrementSessionEpoch(userId);
+        if (updated == 0) {
+            return;
+        }
+        int accountVersion = userRepository.findAccountVersionById(userId).orElse(0);
+        accountRevocationRegistry.revokeBefore(userId, accountVersion);
+        revocationEventPublisher.accountVersionChanged(userId, accountVersion);
+        // 커밋 후 세션 epoch, 사용자 캐시를 무효화한다.
+        eventPublisher.publishEvent(new UserChangedEvent(userId));
+        log.debug("모든 세션 로그아웃 - userId: {}", userId);
+    }
 }
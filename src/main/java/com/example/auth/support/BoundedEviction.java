@@ -0,0 +1,64 @@
+package com.example.auth.support;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+
+/**
+ * 최대 크기가 정해진 ConcurrentHashMap 캐시의 정리(evict) 작업
+ * 만료된 항목을 먼저 제거하고, 그래도 최대 크기를 넘으면 최대 크기의 90%가 될 때까지 제거 가능한 항목을 제거한다.
+ * (90%까지 줄여두면 한 항목 추가마다 정리가 반복되지 않는다.)
+ *
+ * - map마다 하나씩 만든다. 정리는 map마다 한 스레드만 수행하고, 이미 정리 중이면 기다리지 않고 바로 반환한다.
+ * - 제거 가능 여부(evictable)는 만료되지 않은 항목 중 어떤 것을 버려도 되는지 정한다.
+ */
+public class BoundedEviction<V> {
+    private final Map<?, V> map;
+    private final int maxSize;
+    private final Predicate<? super V> evictable;
+    private final AtomicBoolean evicting = new AtomicBoolean(false);
+
+    /**
+     * @param map 정리할 map
+     * @param maxSize 최대 항목 수
+     * @param evictable 만료되지 않았지만 크기를 줄이기 위해 제거해도 되는 항목
+     */
+    public BoundedEviction(Map<?, V> map, int maxSize, Predicate<? super V> evictable) {
+        this.map = map;
+        this.maxSize = maxSize;
+        this.evictable = evictable;
+    }
+
+    /**
+     * @param expired 만료된 항목
+     * @return 제거한 항목 수, 다른 스레드가 정리 중이면 0
+     */
+    public int evict(Predicate<? super V> expired) {
+        if (!evicting.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            int removed = 0;
+            Iterator<V> it = map.values().iterator();
+            while (it.hasNext()) {
+                if (expired.test(it.next())) {
+                    it.remove();
+                    removed++;
+                }
+            }
+
+            int target = (int) (maxSize * 0.9);
+            it = map.values().iterator();
+            while (map.size() > target && it.hasNext()) {
+                if (evictable.test(it.next())) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            return removed;
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.auth.support;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 같은 key에 대한 동시 조회를 한 번으로 합치고 결과를 ttl 동안 보관하는 캐시
+ *
+ * - 같은 key로 조회 중인 스레드가 있으면 loader를 다시 실행하지 않고 그 결과를 기다린다.
+ * - loader가 예외를 던지면 보관하지 않고, 기다리던 스레드에도 같은 예외를 전달한다.
+ * - cacheable이 false인 결과는 기다리던 스레드에만 전달하고 보관하지 않는다.
+ * - 조회 중에 invalidate()되면 그 조회 결과는 보관하지 않는다.(변경 전 값이 다시 캐시되지 않도록)
+ * - 최대 max-size 개까지 보관하고, 넘으면 만료된 항목, 그래도 많으면 임의의 완료된 항목을 제거한다.
+ * - ttl이 0 이하이면 캐시하지 않고 항상 loader를 실행한다.
+ * - null 값도 보관한다.
+ */
+public class SingleFlightCache<K, V> {
+    private final long ttlNanos;
+    private final int maxSize;
+    private final LongSupplier nanoClock;
+
+    private final Map<K, CompletableFuture<Entry<V>>> entries = new ConcurrentHashMap<>();
+    private final BoundedEviction<CompletableFuture<Entry<V>>> eviction;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public SingleFlightCache(Duration ttl, int maxSize) {
+        this(ttl, maxSize, System::nanoTime);
+    }
+
+    SingleFlightCache(Duration ttl, int maxSize, LongSupplier nanoClock) {
+        this.ttlNanos = ttl.toNanos();
+        this.maxSize = maxSize;
+        this.nanoClock = nanoClock;
+        this.eviction = new BoundedEviction<>(entries, maxSize, CompletableFuture::isDone);
+    }
+
+    /**
+     * @see #get(Object, Function, Predicate)
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        return get(key, loader, value -> true);
+    }
+
+    /**
+     * 보관된 값이 있으면 반환하고, 없거나 만료되었으면 loader로 조회한다.
+     * @param key key
+     * @param loader 캐시 miss일 때 값을 조회하는 함수
+     * @param cacheable 보관할 결과인지 확인하는 함수
+     * @return 값
+     */
+    public V get(K key, Function<? super K, ? extends V> loader, Predicate<? super V> cacheable) {
+        if (ttlNanos <= 0) {
+            return loader.apply(key);
+        }
+
+        while (true) {
+            CompletableFuture<Entry<V>> future = entries.get(key);
+            if (future != null) {
+                if (!future.isDone()) {
+                    // 다른 스레드가 조회 중이면 그 결과를 기다린다.
+                    hits.increment();
+                    return await(future).value();
+                }
+                Entry<V> entry = future.isCompletedExceptionally() ? null : future.getNow(null);
+                if (entry != null && !entry.isExpired(nanoClock.getAsLong())) {
+                    hits.increment();
+                    return entry.value();
+                }
+                entries.remove(key, future);
+            }
+
+            CompletableFuture<Entry<V>> loading = new CompletableFuture<>();
+            if (entries.putIfAbsent(key, loading) != null) {
+                // 그 사이 다른 스레드가 조회를 시작했으면 처음부터 다시 확인
+                continue;
+            }
+
+            misses.increment();
+            V value;
+            try {
+                value = loader.apply(key);
+            } catch (RuntimeException | Error ex) {
+                // 기다리던 스레드가 멈춰 있지 않도록 Error도 전달한다.
+                entries.remove(key, loading);
+                loading.completeExceptionally(ex);
+                throw ex;
+            }
+            loading.complete(new Entry<>(value, nanoClock.getAsLong() + ttlNanos));
+            if (!cacheable.test(value)) {
+                entries.remove(key, loading);
+            } else if (entries.size() > maxSize) {
+                evict();
+            }
+            return value;
+        }
+    }
+
+    /**
+     * 보관된 값을 제거한다. 조회 중이면 그 결과는 보관하지 않는다.
+     * @param key key
+     */
+    public void invalidate(K key) {
+        entries.remove(key);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    private Entry<V> await(CompletableFuture<Entry<V>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (ex.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void evict() {
+        long now = nanoClock.getAsLong();
+        eviction.evict(future -> future.isDone()
+                && (future.isCompletedExceptionally() || future.getNow(null).isExpired(now)));
+    }
+
+    private record Entry<V>(V value, long expiresAtNanos) {
+        boolean isExpired(long now) {
+            return now - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.auth.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * 만료 시간이 지난 항목을 꺼내주는 hashed timing wheel
+ * 만료 시간을 tick 단위로 나누어 slot(tick % wheelSize)에 넣고, advance()가 지나간 slot만 확인한다.
+ * 항목마다 타이머를 두거나 전체를 훑지 않아도 되므로 항목이 많아도 정리 비용이 일정하다.
+ *
+ * - schedule()은 여러 스레드에서 동시에 호출할 수 있다.(read lock)
+ * - advance()는 write lock 안에서 실행한다. schedule()이 읽은 현재 tick과 넣는 slot 사이에 advance()가 끼어들면
+ *   이미 지나간 slot에 들어가서 wheel 한 바퀴(tick 1초이면 약 68분) 뒤에야 꺼내지기 때문이다.
+ * - wheel 한 바퀴보다 먼 만료 시간은 같은 slot에 두고 해당 tick이 될 때까지 다시 넣는다.
+ */
+public class TimingWheel<T> {
+    private final long tickMillis;
+    private final Queue<Entry<T>>[] slots;
+    // 계속 등록되어도 advance()가 기다리지 않도록 fair lock을 사용한다.
+    private final ReadWriteLock lock = new ReentrantReadWriteLock(true);
+    private long currentTick;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(Duration tick, int wheelSize, long startMillis) {
+        if (tick.toMillis() <= 0 || wheelSize <= 0) {
+            throw new IllegalArgumentException("tick, wheelSize는 0보다 커야 합니다.");
+        }
+        this.tickMillis = tick.toMillis();
+        this.slots = new Queue[wheelSize];
+        for (int i = 0; i < wheelSize; i++) {
+            slots[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    /**
+     * 항목을 만료 시간에 꺼내지도록 등록한다.
+     * 이미 지난 시간이면 다음 tick에 꺼내진다.
+     */
+    public void schedule(T item, long expiresAtMillis) {
+        // 만료 시간이 속한 tick이 끝난 뒤에 꺼낸다.(일찍 꺼내지 않도록 올림)
+        lock.readLock().lock();
+        try {
+            long tick = Math.max(ceilDiv(expiresAtMillis, tickMillis), currentTick + 1);
+            slots[(int) (tick % slots.length)].add(new Entry<>(item, tick));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 현재 시간까지 지나간 slot을 확인하고 만료된 항목을 전달한다.
+     * @param nowMillis 현재 시간
+     * @param expired 만료된 항목을 받는 함수
+     * @return 만료된 항목 수
+     */
+    public int advance(long nowMillis, Consumer<T> expired) {
+        lock.writeLock().lock();
+        try {
+            return advanceLocked(nowMillis / tickMillis, expired);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int advanceLocked(long nowTick, Consumer<T> expired) {
+        long steps = Math.min(nowTick - currentTick, slots.length);
+        int count = 0;
+        for (long tick = currentTick + 1; tick <= currentTick + steps; tick++) {
+            Queue<Entry<T>> slot = slots[(int) (tick % slots.length)];
+            List<Entry<T>> later = new ArrayList<>();
+            Entry<T> entry;
+            while ((entry = slot.poll()) != null) {
+                if (entry.tick() <= nowTick) {
+                    expired.accept(entry.item());
+                    count++;
+                } else {
+                    later.add(entry);
+                }
+            }
+            slot.addAll(later);
+        }
+        if (nowTick > currentTick) {
+            currentTick = nowTick;
+        }
+        return count;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    private record Entry<T>(T item, long tick) {
+    }
+}
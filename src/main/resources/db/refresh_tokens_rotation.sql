@@ -0,0 +1,5 @@
+-- refresh_tokens: rotation과 재사용 감지를 위한 컬럼
+ALTER TABLE refresh_tokens ADD COLUMN family_id VARCHAR(36) NULL;
+ALTER TABLE refresh_tokens ADD COLUMN rotated_at DATETIME(6) NULL;
+ALTER TABLE refresh_tokens ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+CREATE INDEX idx_refresh_token_family ON refresh_tokens (family_id);
@@ -0,0 +1,10 @@
+-- refresh_tokens: 토큰 원문(token VARCHAR(500)) 대신 SHA-256 digest(token_hash BINARY(32))로 조회하도록 변경
+-- 1. 배포 전에 실행
+ALTER TABLE refresh_tokens ADD COLUMN token_hash BINARY(32) NULL;
+ALTER TABLE refresh_tokens MODIFY COLUMN token VARCHAR(500) NULL;
+CREATE UNIQUE INDEX uk_refresh_token_hash ON refresh_tokens (token_hash);
+
+-- 2. 배포 후 RefreshTokenHashMigration이 기존 데이터의 token_hash를 채우고 token을 NULL로 바꾼다.
+--    아래 결과가 0이 되면 원문 컬럼을 삭제해도 된다.
+-- SELECT COUNT(*) FROM refresh_tokens WHERE token IS NOT NULL;
+-- ALTER TABLE refresh_tokens DROP COLUMN token;
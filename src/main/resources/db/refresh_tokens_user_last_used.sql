@@ -0,0 +1,2 @@
+-- refresh_tokens: 사용자별 세션 수 제한(LRU 제거)을 위한 index
+CREATE INDEX idx_refresh_token_user_last_used ON refresh_tokens (user_id, last_used_at);
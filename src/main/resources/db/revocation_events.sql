@@ -0,0 +1,12 @@
+-- revocation_events: 서버 간 캐시 무효화/토큰 폐기 전파
+CREATE TABLE revocation_events (
+    id         BIGINT      NOT NULL AUTO_INCREMENT,
+    type       VARCHAR(20) NOT NULL,
+    user_id    BIGINT      NOT NULL,
+    version    INT         NULL,
+    token_id   VARCHAR(36) NULL,
+    expires_at DATETIME(6) NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_revocation_event_created_at (created_at)
+);
@@ -0,0 +1,2 @@
+-- users: 권한 변경, 비활성화, 모든 기기 로그아웃 시 증가하는 계정 상태 버전(access token의 ver claim)
+ALTER TABLE users ADD COLUMN account_version INT NULL DEFAULT 0;
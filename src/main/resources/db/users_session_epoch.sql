@@ -0,0 +1,2 @@
+-- users: 모든 기기 로그아웃을 위한 세션 epoch
+ALTER TABLE users ADD COLUMN session_epoch INT NULL DEFAULT 0;
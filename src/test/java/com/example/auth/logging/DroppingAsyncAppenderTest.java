@@ -0,0 +1,63 @@
+package com.example.auth.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DroppingAsyncAppenderTest {
+
+    @Test
+    void countsEveryEventThatDoesNotFitInTheQueue() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        CountDownLatch consuming = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        // 첫 로그를 출력하는 동안 멈춰서 큐가 비워지지 않도록 하는 appender
+        AppenderBase<ILoggingEvent> blocking = new AppenderBase<>() {
+            @Override
+            protected void append(ILoggingEvent event) {
+                consuming.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        blocking.setContext(context);
+        blocking.start();
+
+        DroppingAsyncAppender appender = new DroppingAsyncAppender();
+        appender.setContext(context);
+        appender.setQueueSize(2);
+        appender.addAppender(blocking);
+        appender.start();
+        try {
+            appender.doAppend(event(context));
+            assertThat(consuming.await(5, TimeUnit.SECONDS)).isTrue();
+
+            long before = DroppingAsyncAppender.getDroppedCount();
+            for (int i = 0; i < 10; i++) {
+                appender.doAppend(event(context));
+            }
+            // 큐(2개)에 들어간 로그를 뺀 나머지는 모두 버려진 것으로 센다.
+            assertThat(DroppingAsyncAppender.getDroppedCount() - before).isEqualTo(8);
+        } finally {
+            release.countDown();
+            appender.stop();
+        }
+    }
+
+    private static LoggingEvent event(LoggerContext context) {
+        return new LoggingEvent(DroppingAsyncAppenderTest.class.getName(),
+                context.getLogger("test"), Level.INFO, "message", null, null);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.auth.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AccessTokenDenylistTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void revokedTokenIsDeniedUntilItExpires() throws Exception {
+        AccessTokenDenylist denylist = new AccessTokenDenylist(meterRegistry, 100, 0.01, Duration.ofMillis(10));
+        VerifiedToken token = token("jti-1", Instant.now().plusMillis(100));
+        VerifiedToken other = token("jti-2", Instant.now().plusMillis(100));
+
+        assertThat(denylist.revoke(token)).isTrue();
+        assertThat(denylist.isRevoked(token)).isTrue();
+        assertThat(denylist.isRevoked(other)).isFalse();
+
+        Thread.sleep(150);
+        denylist.expire();
+        assertThat(denylist.size()).isZero();
+        assertThat(denylist.isRevoked(token)).isFalse();
+    }
+
+    @Test
+    void rejectsRevocationWhenFull() {
+        AccessTokenDenylist denylist = new AccessTokenDenylist(meterRegistry, 10, 0.01, Duration.ofSeconds(1));
+        Instant expiresAt = Instant.now().plusSeconds(60);
+        for (int i = 0; i < 10; i++) {
+            assertThat(denylist.revoke(token("jti-" + i, expiresAt))).isTrue();
+        }
+
+        assertThat(denylist.revoke(token("jti-overflow", expiresAt))).isFalse();
+        // 이미 등록된 토큰은 가득 차 있어도 성공
+        assertThat(denylist.revoke(token("jti-0", expiresAt))).isTrue();
+        assertThat(denylist.size()).isEqualTo(10);
+        assertThat(denylist.isRevoked(token("jti-overflow", expiresAt))).isFalse();
+    }
+
+    @Test
+    void rebuildsBloomFilterWhenMostEntriesExpired() throws Exception {
+        AccessTokenDenylist denylist = new AccessTokenDenylist(meterRegistry, 10_000, 0.01, Duration.ofMillis(10));
+        Instant soon = Instant.now().plusMillis(100);
+        int count = 2_000;
+        for (int i = 0; i < count; i++) {
+            denylist.revoke(token("expiring-" + i, soon));
+        }
+        VerifiedToken remaining = token("remaining", Instant.now().plusSeconds(60));
+        denylist.revoke(remaining);
+
+        Thread.sleep(150);
+        denylist.expire();
+        assertThat(denylist.size()).isEqualTo(1);
+
+        // 다시 만든 filter에는 만료된 항목이 없으므로 집합까지 조회하는(오탐) 경우가 거의 없다.
+        for (int i = 0; i < count; i++) {
+            assertThat(denylist.isRevoked(token("expiring-" + i, soon))).isFalse();
+        }
+        assertThat(falsePositives()).isLessThan(count / 10.0);
+        assertThat(denylist.isRevoked(remaining)).isTrue();
+    }
+
+    private double falsePositives() {
+        return meterRegistry.get("auth.access.token.denylist.false.positives").functionCounter().count();
+    }
+
+    private static VerifiedToken token(String tokenId, Instant expiresAt) {
+        return new VerifiedToken("user@example.com", 1L, VerifiedToken.TYPE_ACCESS,
+                Instant.now(), expiresAt, "ROLE_USER", 0, 0, tokenId);
+    }
+}
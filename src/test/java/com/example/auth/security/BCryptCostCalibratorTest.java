@@ -0,0 +1,25 @@
+package com.example.auth.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BCryptCostCalibratorTest {
+
+    @Test
+    void clampsToMinCostWhenTargetIsTooShort() {
+        assertThat(BCryptCostCalibrator.calibrate(Duration.ofNanos(1), 10, 12)).isEqualTo(10);
+    }
+
+    @Test
+    void clampsToMaxCostWhenTargetIsTooLong() {
+        assertThat(BCryptCostCalibrator.calibrate(Duration.ofDays(1), 4, 6)).isEqualTo(6);
+    }
+
+    @Test
+    void staysWithinRange() {
+        assertThat(BCryptCostCalibrator.calibrate(Duration.ofMillis(50), 4, 16)).isBetween(4, 16);
+    }
+}
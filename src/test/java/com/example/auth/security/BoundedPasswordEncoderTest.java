@@ -0,0 +1,153 @@
+package com.example.auth.security;
+
+import com.example.auth.dto.ApiResponse;
+import com.example.auth.exception.GlobalExceptionHandler;
+import com.example.auth.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class BoundedPasswordEncoderTest {
+    private static final String BLOCK = "block";
+    private static final String SLOW = "slow";
+    private static final long SLOW_MILLIS = 300;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private BoundedPasswordEncoder encoder;
+
+    /**
+     * "block"은 release 될 때까지, "slow"는 SLOW_MILLIS 동안 해싱하는 encoder
+     */
+    private final PasswordEncoder slowDelegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            try {
+                if (BLOCK.contentEquals(rawPassword)) {
+                    release.await(5, TimeUnit.SECONDS);
+                } else if (SLOW.contentEquals(rawPassword)) {
+                    Thread.sleep(SLOW_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        if (encoder != null) {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowDelegate, 1, 1, Duration.ofSeconds(10), meterRegistry);
+        Future<String> running = callers.submit(() -> encoder.encode(BLOCK));
+        awaitGauge("auth.password.hashing.active", 1);
+        Future<String> queued = callers.submit(() -> encoder.encode("queued"));
+        awaitGauge("auth.password.hashing.queue.depth", 1);
+
+        TooManyRequestsException ex = catchThrowableOfType(TooManyRequestsException.class,
+                () -> encoder.encode("rejected"));
+
+        // 대기열이 가득 찬 경우에는 queue-budget 후에 다시 시도하도록 한다.
+        assertThat(ex.getRetryAfter()).isEqualTo(Duration.ofSeconds(10));
+        assertThat(meterRegistry.get("auth.password.hashing.rejected").counter().count()).isEqualTo(1);
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:" + BLOCK);
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("hash:queued");
+    }
+
+    @Test
+    void shedsWhenExpectedWaitExceedsBudget() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowDelegate, 1, 10, Duration.ofMillis(100), meterRegistry);
+        // 평균 해싱 시간을 SLOW_MILLIS 정도로 만든다.
+        encoder.encode(SLOW);
+
+        callers.submit(() -> encoder.encode(BLOCK));
+        awaitGauge("auth.password.hashing.active", 1);
+        callers.submit(() -> encoder.encode("queued"));
+        awaitGauge("auth.password.hashing.queue.depth", 1);
+
+        // 예상 대기 시간 = 대기 1개 x 평균(약 SLOW_MILLIS) / 스레드 1개 > 100ms
+        TooManyRequestsException ex = catchThrowableOfType(TooManyRequestsException.class,
+                () -> encoder.encode("rejected"));
+
+        assertThat(ex.getRetryAfter()).isGreaterThanOrEqualTo(Duration.ofMillis(SLOW_MILLIS));
+        assertThat(meterRegistry.get("auth.password.hashing.queue.depth").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsTaskThatWaitedLongerThanBudgetInQueue() throws Exception {
+        encoder = new BoundedPasswordEncoder(slowDelegate, 1, 10, Duration.ofMillis(50), meterRegistry);
+        Future<String> running = callers.submit(() -> encoder.encode(BLOCK));
+        awaitGauge("auth.password.hashing.active", 1);
+        Future<String> stale = callers.submit(() -> encoder.encode("stale"));
+        awaitGauge("auth.password.hashing.queue.depth", 1);
+
+        Thread.sleep(SLOW_MILLIS);
+        release.countDown();
+
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("hash:" + BLOCK);
+        // 실행 전에 이미 queue-budget 보다 오래 기다렸으므로 해싱하지 않고 거절한다.
+        // 다시 시도할 시간은 평균 해싱 시간(앞의 작업이 걸린 시간)
+        assertThatThrownBy(() -> stale.get(5, TimeUnit.SECONDS))
+                .cause()
+                .isInstanceOfSatisfying(TooManyRequestsException.class, ex ->
+                        assertThat(ex.getRetryAfter()).isGreaterThanOrEqualTo(Duration.ofMillis(SLOW_MILLIS)));
+    }
+
+    @Test
+    void rejectionIsMappedTo429WithRetryAfterSeconds() {
+        GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+        ResponseEntity<ApiResponse<Void>> response = handler.handleTooManyRequestsException(
+                new TooManyRequestsException("busy", Duration.ofMillis(1500)));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        // 초 단위로 올림
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(response.getBody().getSuccess()).isFalse();
+
+        // 1초보다 짧아도 최소 1초
+        assertThat(handler.handleTooManyRequestsException(new TooManyRequestsException("busy", Duration.ofMillis(1)))
+                .getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    private void awaitGauge(String name, double expected) throws InterruptedException {
+        DoubleSupplier value = () -> meterRegistry.get(name).gauge().value();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (value.getAsDouble() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(value.getAsDouble()).isEqualTo(expected);
+    }
+}
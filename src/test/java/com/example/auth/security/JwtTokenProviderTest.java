@@ -0,0 +1,85 @@
+package com.example.auth.security;
+
+import com.example.auth.config.JwtSigningProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+    // 운영 환경의 JWT_SECRET과 같은 88 byte secret(signWith(key)가 HS512를 선택하는 길이)
+    private static final String SECRET = "a".repeat(88);
+    private static final long EXPIRATION = 60_000;
+
+    @Test
+    void verifiesKidLessTokenSignedBeforeKeyRing() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION, EXPIRATION, new JwtSigningProperties());
+
+        // key ring 도입 이전과 같은 방식(kid 없음, 알고리즘은 키 길이로 선택)
+        String legacyToken = legacyAccessToken(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(headerOf(legacyToken)).contains("\"alg\":\"HS512\"").doesNotContain("kid");
+        assertThat(provider.verifyIfValid(legacyToken))
+                .hasValueSatisfying(token -> {
+                    assertThat(token.subject()).isEqualTo("user@example.com");
+                    assertThat(token.userId()).isEqualTo(1L);
+                    assertThat(token.isAccessToken()).isTrue();
+                });
+    }
+
+    @Test
+    void verifiesLegacyTokenAfterDefaultKeyIsRetired() {
+        JwtSigningProperties properties = new JwtSigningProperties();
+        properties.setKeyId("2026-10");
+        JwtSigningProperties.VerificationKey legacy = new JwtSigningProperties.VerificationKey();
+        legacy.setKeyId(JwtKeyRing.LEGACY_KEY_ID);
+        legacy.setSecret(SECRET);
+        properties.getVerificationKeys().add(legacy);
+        JwtTokenProvider provider = new JwtTokenProvider("b".repeat(64), EXPIRATION, EXPIRATION, properties);
+
+        String legacyToken = legacyAccessToken(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(provider.validateToken(legacyToken)).isTrue();
+    }
+
+    @Test
+    void rejectsLegacyTokenSignedWithAnotherSecret() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION, EXPIRATION, new JwtSigningProperties());
+
+        String forged = legacyAccessToken(Keys.hmacShaKeyFor("c".repeat(88).getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(provider.validateToken(forged)).isFalse();
+    }
+
+    @Test
+    void verifiesTokenItIssued() {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, EXPIRATION, EXPIRATION, new JwtSigningProperties());
+
+        String token = provider.generateAccessToken("user@example.com", 1L);
+
+        assertThat(headerOf(token)).contains("\"kid\":\"" + JwtKeyRing.LEGACY_KEY_ID + "\"");
+        assertThat(provider.getUserIdFromToken(token)).isEqualTo(1L);
+    }
+
+    private static String legacyAccessToken(SecretKey key) {
+        Date now = new Date();
+        return Jwts.builder()
+                .subject("user@example.com")
+                .claim("userId", 1L)
+                .claim("type", VerifiedToken.TYPE_ACCESS)
+                .issuedAt(now)
+                .expiration(new Date(now.getTime() + EXPIRATION))
+                .signWith(key)
+                .compact();
+    }
+
+    private static String headerOf(String token) {
+        return new String(Base64.getUrlDecoder().decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.auth.security;
+
+import com.example.auth.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginThrottleTest {
+    private final LoginThrottle throttle = new LoginThrottle(new SimpleMeterRegistry(), Duration.ofMinutes(10), 1_000, 3, 10);
+
+    @Test
+    void throttledEmailSurvivesSprayOfRandomEmails() {
+        for (int i = 0; i < 3; i++) {
+            throttle.recordFailure(null, "victim@example.com");
+        }
+
+        // 무작위 이메일로 max-size를 넘겨도 한도에 도달한 이메일의 횟수는 지워지지 않는다.
+        for (int i = 0; i < 100; i++) {
+            throttle.recordFailure(null, "random" + i + "@example.com");
+        }
+
+        assertThatThrownBy(() -> throttle.checkAllowed(null, "victim@example.com"))
+                .isInstanceOf(TooManyRequestsException.class);
+    }
+
+    @Test
+    void throttledIpSurvivesEvictionOfEmailMap() {
+        LoginThrottle ipThrottle = new LoginThrottle(new SimpleMeterRegistry(), Duration.ofMinutes(10), 3, 1_000, 10);
+        for (int i = 0; i < 3; i++) {
+            ipThrottle.recordFailure("10.0.0.1", null);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            ipThrottle.recordFailure("10.0.1." + i, "random" + i + "@example.com");
+        }
+
+        assertThatThrownBy(() -> ipThrottle.checkAllowed("10.0.0.1", null))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> ipThrottle.checkAllowed("10.0.1.1", "other@example.com"))
+                .doesNotThrowAnyException();
+    }
+}
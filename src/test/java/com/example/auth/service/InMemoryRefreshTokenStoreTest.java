@@ -0,0 +1,18 @@
+package com.example.auth.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+class InMemoryRefreshTokenStoreTest extends RefreshTokenStoreConformanceTest {
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore();
+    private final AtomicLong users = new AtomicLong();
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @Override
+    protected long createUser() {
+        return users.incrementAndGet();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.User;
+import com.example.auth.repository.RefreshTokenRepository;
+import com.example.auth.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.autoconfigure.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+/**
+ * H2(MySQL 모드)에서 JpaRefreshTokenStore를 테스트한다.
+ * 동시성 테스트를 위해 테스트 트랜잭션을 사용하지 않고 저장소 메소드마다 커밋한다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:refresh-token-store;MODE=MySQL;NON_KEYWORDS=USER;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Import(JpaRefreshTokenStore.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JpaRefreshTokenStoreTest extends RefreshTokenStoreConformanceTest {
+    @Autowired
+    private JpaRefreshTokenStore store;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void cleanUp() {
+        refreshTokenRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @Override
+    protected long createUser() {
+        User user = User.builder()
+                .email(UUID.randomUUID() + "@example.com")
+                .nickname("tester")
+                .build();
+        return userRepository.save(user).getId();
+    }
+
+    @Override
+    protected int throughputRotationsPerThread() {
+        return 250;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.auth.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogRefreshTokenStoreTest extends RefreshTokenStoreConformanceTest {
+    @TempDir
+    Path dir;
+
+    private Path path;
+    private LogRefreshTokenStore store;
+    private final AtomicLong users = new AtomicLong();
+
+    @BeforeEach
+    void open() {
+        path = dir.resolve("refresh-tokens.log");
+        store = new LogRefreshTokenStore(path);
+    }
+
+    @AfterEach
+    void close() {
+        store.close();
+    }
+
+    @Override
+    protected RefreshTokenStore store() {
+        return store;
+    }
+
+    @Override
+    protected long createUser() {
+        return users.incrementAndGet();
+    }
+
+    private void reopen() {
+        store.close();
+        store = new LogRefreshTokenStore(path);
+    }
+
+    @Test
+    void replaysLogOnRestart() {
+        long userId = createUser();
+        StoredRefreshToken rotated = issue(userId, "family-a");
+        store.markRotated(rotated.id(), rotated.version(), now);
+        StoredRefreshToken revoked = issue(userId, "family-b");
+        store.revokeFamily("family-b");
+        StoredRefreshToken deleted = issue(userId, "family-c");
+        store.deleteByIds(List.of(deleted.id()));
+        StoredRefreshToken live = issue(userId, "family-d");
+
+        reopen();
+
+        assertThat(find(rotated).isRotated()).isTrue();
+        assertThat(find(revoked).revoked()).isTrue();
+        assertThat(store.findByTokenHash(deleted.tokenHash())).isEmpty();
+        assertThat(find(live).familyId()).isEqualTo("family-d");
+        assertThat(store.countLive(userId, now)).isEqualTo(1);
+        // 재시작 후 발급되는 id는 기존 id와 겹치지 않는다.
+        assertThat(issue(userId, "family-e").id()).isGreaterThan(live.id());
+    }
+
+    @Test
+    void compactionKeepsOnlyCurrentTokens() {
+        long userId = createUser();
+        StoredRefreshToken current = issue(userId, "family-a");
+        for (int i = 0; i < 100; i++) {
+            StoredRefreshToken token = find(current);
+            store.markRotated(token.id(), token.version(), now);
+            current = issue(userId, "family-a");
+        }
+        store.deleteByIds(store.findPurgeable(0, now.plusDays(30), 1000));
+
+        long before = store.records();
+        store.compact();
+        assertThat(store.records()).isLessThan(before).isEqualTo(store.size());
+
+        reopen();
+        assertThat(store.size()).isEqualTo(0);
+        StoredRefreshToken afterCompaction = issue(userId, "family-b");
+        reopen();
+        assertThat(find(afterCompaction).familyId()).isEqualTo("family-b");
+    }
+
+    @Test
+    void ignoresTruncatedTail() throws IOException {
+        long userId = createUser();
+        StoredRefreshToken first = issue(userId, "family-a");
+        StoredRefreshToken second = issue(userId, "family-b");
+        store.close();
+
+        // 마지막 레코드를 쓰는 도중 종료된 것처럼 끝부분을 잘라낸다.
+        long size = Files.size(path);
+        try (var channel = Files.newByteChannel(path, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+        store = new LogRefreshTokenStore(path);
+
+        assertThat(find(first).familyId()).isEqualTo("family-a");
+        assertThat(store.findByTokenHash(second.tokenHash())).isEmpty();
+
+        // 잘라낸 뒤에 기록한 레코드도 다시 읽을 수 있어야 한다.
+        StoredRefreshToken third = issue(userId, "family-c");
+        reopen();
+        assertThat(find(third).familyId()).isEqualTo("family-c");
+    }
+
+    @Test
+    void ignoresCorruptedRecord() throws IOException {
+        StoredRefreshToken first = issue(createUser(), "family-a");
+        store.close();
+
+        try (OutputStream out = Files.newOutputStream(path, StandardOpenOption.APPEND)) {
+            out.write(new byte[]{0, 0, 0, 8, 1, 2, 3, 4, 5, 6, 7, 8, 0, 0, 0, 0, 0, 0, 0, 0});
+        }
+        store = new LogRefreshTokenStore(path);
+
+        assertThat(find(first).familyId()).isEqualTo("family-a");
+        assertThat(store.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.User;
+import com.example.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * H2(MySQL 모드)에서 로그인 후 비밀번호 재해싱을 테스트한다.
+ * 현재 정책은 cost 5, 이전 정책은 cost 4
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:password-rehash;MODE=MySQL;NON_KEYWORDS=USER;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class PasswordRehashServiceTest {
+    private static final String RAW_PASSWORD = "password1";
+
+    @Autowired
+    private UserRepository realUserRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final BCryptPasswordEncoder weakEncoder = new BCryptPasswordEncoder(4);
+    private final BCryptPasswordEncoder passwordEncoder = Mockito.spy(new BCryptPasswordEncoder(5));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserRepository userRepository;
+    private PasswordRehashService service;
+
+    @BeforeEach
+    void setUp() {
+        // 실제 repository로 위임하면서 호출된 메소드를 확인한다.
+        userRepository = Mockito.mock(UserRepository.class, AdditionalAnswers.delegatesTo(realUserRepository));
+        service = new PasswordRehashService(passwordEncoder, userRepository,
+                new TransactionTemplate(transactionManager), meterRegistry, 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+        realUserRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void currentHashIsNotRehashed() throws Exception {
+        User current = saveUser("current@example.com", passwordEncoder.encode(RAW_PASSWORD));
+        User weak = saveUser("weak@example.com", weakEncoder.encode(RAW_PASSWORD));
+        Mockito.clearInvocations(passwordEncoder);
+
+        service.rehashIfNeeded(current, RAW_PASSWORD);
+        // 작업은 한 스레드에서 순서대로 실행되므로 뒤에 예약한 작업이 끝나면 앞의 작업도 끝난 것이다.
+        service.rehashIfNeeded(weak, RAW_PASSWORD);
+        awaitRehashed(1);
+
+        Mockito.verify(passwordEncoder, Mockito.times(1)).encode(any());
+        Mockito.verify(userRepository, Mockito.never()).updatePasswordIfUnchanged(Mockito.eq(current.getId()), anyString(), anyString());
+        assertThat(reload(current).getPassword()).isEqualTo(current.getPassword());
+    }
+
+    @Test
+    void weakHashIsRewrittenOnlyThroughConditionalUpdate() throws Exception {
+        User user = saveUser("user@example.com", weakEncoder.encode(RAW_PASSWORD));
+
+        service.rehashIfNeeded(user, RAW_PASSWORD);
+        awaitRehashed(1);
+
+        String rehashed = reload(user).getPassword();
+        assertThat(rehashed).startsWith("$2a$05$");
+        assertThat(passwordEncoder.matches(RAW_PASSWORD, rehashed)).isTrue();
+        Mockito.verify(userRepository).updatePasswordIfUnchanged(user.getId(), user.getPassword(), rehashed);
+        Mockito.verify(userRepository, Mockito.never()).save(any());
+        Mockito.verify(userRepository, Mockito.never()).saveAndFlush(any());
+    }
+
+    @Test
+    void concurrentPasswordChangeIsNotOverwritten() throws Exception {
+        User staleUser = saveUser("user@example.com", weakEncoder.encode(RAW_PASSWORD));
+        // 로그인에서 사용자를 읽은 뒤 다른 요청이 비밀번호를 변경
+        String changedPassword = passwordEncoder.encode("changed-password");
+        User changed = reload(staleUser);
+        changed.setPassword(changedPassword);
+        realUserRepository.save(changed);
+
+        User other = saveUser("other@example.com", weakEncoder.encode(RAW_PASSWORD));
+
+        service.rehashIfNeeded(staleUser, RAW_PASSWORD);
+        // 뒤에 예약한 작업이 끝나면 앞의 작업(트랜잭션 포함)도 끝난 것이다.
+        service.rehashIfNeeded(other, RAW_PASSWORD);
+        awaitRehashed(1);
+
+        Mockito.verify(userRepository)
+                .updatePasswordIfUnchanged(Mockito.eq(staleUser.getId()), Mockito.eq(staleUser.getPassword()), anyString());
+        assertThat(reload(staleUser).getPassword()).isEqualTo(changedPassword);
+    }
+
+    private User saveUser(String email, String password) {
+        return realUserRepository.save(User.builder()
+                .email(email)
+                .password(password)
+                .nickname("user")
+                .role(User.Role.ROLE_USER)
+                .isActive(true)
+                .build());
+    }
+
+    private User reload(User user) {
+        return realUserRepository.findById(user.getId()).orElseThrow();
+    }
+
+    private void awaitRehashed(double expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.get("auth.password.rehashed").counter().count() < expected
+                && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(meterRegistry.get("auth.password.rehashed").counter().count()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,248 @@
+package com.example.auth.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+
+/**
+ * 모든 RefreshTokenStore 구현체가 통과해야 하는 테스트
+ * 구현체별 테스트는 이 클래스를 상속해서 store(), createUser()를 구현한다.
+ */
+abstract class RefreshTokenStoreConformanceTest {
+    protected static final int THREADS = 8;
+
+    // DB마다 저장되는 시간 정밀도가 다르므로 밀리초 단위로 비교한다.
+    protected final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+    protected abstract RefreshTokenStore store();
+
+    /**
+     * 토큰 소유자를 만든다.
+     * @return 사용자 id
+     */
+    protected abstract long createUser();
+
+    /**
+     * 처리량 테스트의 최대 허용 시간
+     */
+    protected Duration throughputBudget() {
+        return Duration.ofSeconds(30);
+    }
+
+    protected StoredRefreshToken issue(long userId, String familyId, LocalDateTime lastUsedAt, LocalDateTime expiresAt) {
+        byte[] tokenHash = new byte[32];
+        ThreadLocalRandom.current().nextBytes(tokenHash);
+        StoredRefreshToken issued = StoredRefreshToken.issued(tokenHash, userId, familyId, now, expiresAt);
+        return store().save(issued.withLastUsedAt(lastUsedAt));
+    }
+
+    protected StoredRefreshToken issue(long userId, String familyId) {
+        return issue(userId, familyId, now, now.plusDays(7));
+    }
+
+    protected StoredRefreshToken find(StoredRefreshToken token) {
+        return store().findByTokenHash(token.tokenHash()).orElseThrow();
+    }
+
+    @Test
+    void saveAssignsIdAndFindsByHash() {
+        long userId = createUser();
+        StoredRefreshToken saved = issue(userId, "family-a");
+
+        assertThat(saved.id()).isNotNull();
+        StoredRefreshToken found = find(saved);
+        assertThat(found.id()).isEqualTo(saved.id());
+        assertThat(found.userId()).isEqualTo(userId);
+        assertThat(found.familyId()).isEqualTo("family-a");
+        assertThat(found.tokenHash()).isEqualTo(saved.tokenHash());
+        assertThat(found.expiresAt()).isEqualTo(now.plusDays(7));
+        assertThat(found.isRotated()).isFalse();
+        assertThat(found.revoked()).isFalse();
+    }
+
+    @Test
+    void findByUnknownHashReturnsEmpty() {
+        assertThat(store().findByTokenHash(new byte[32])).isEmpty();
+    }
+
+    @Test
+    void markRotatedSucceedsOnlyForCurrentVersion() {
+        StoredRefreshToken saved = issue(createUser(), "family-a");
+
+        assertThat(store().markRotated(saved.id(), saved.version(), now)).isTrue();
+        // 같은 version으로 다시 변경할 수 없다.
+        assertThat(store().markRotated(saved.id(), saved.version(), now)).isFalse();
+
+        StoredRefreshToken found = find(saved);
+        assertThat(found.isRotated()).isTrue();
+        assertThat(found.version()).isGreaterThan(saved.version());
+        // 이미 사용된 토큰은 version이 맞아도 다시 변경할 수 없다.
+        assertThat(store().markRotated(saved.id(), found.version(), now)).isFalse();
+    }
+
+    @Test
+    void concurrentMarkRotatedHasSingleWinner() throws Exception {
+        StoredRefreshToken saved = issue(createUser(), "family-a");
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return store().markRotated(saved.id(), saved.version(), now);
+                }));
+            }
+            start.countDown();
+
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    winners++;
+                }
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void revokeFamilyRevokesOnlyThatFamily() {
+        long userId = createUser();
+        StoredRefreshToken first = issue(userId, "family-a");
+        StoredRefreshToken second = issue(userId, "family-a");
+        StoredRefreshToken other = issue(userId, "family-b");
+
+        assertThat(store().revokeFamily("family-a")).isEqualTo(2);
+        assertThat(store().revokeFamily("family-a")).isZero();
+
+        assertThat(find(first).revoked()).isTrue();
+        assertThat(find(second).revoked()).isTrue();
+        assertThat(find(other).revoked()).isFalse();
+        // 폐기된 토큰은 사용할 수 없다.
+        assertThat(store().markRotated(first.id(), find(first).version(), now)).isFalse();
+    }
+
+    @Test
+    void revokeSingleToken() {
+        StoredRefreshToken saved = issue(createUser(), null);
+
+        assertThat(store().revoke(saved.id())).isTrue();
+        assertThat(store().revoke(saved.id())).isFalse();
+        assertThat(find(saved).revoked()).isTrue();
+    }
+
+    @Test
+    void countsLiveTokensAndOrdersByLeastRecentlyUsed() {
+        long userId = createUser();
+        long otherUserId = createUser();
+        StoredRefreshToken newest = issue(userId, "f1", now.minusMinutes(1), now.plusDays(1));
+        StoredRefreshToken oldest = issue(userId, "f2", now.minusMinutes(30), now.plusDays(1));
+        StoredRefreshToken middle = issue(userId, "f3", now.minusMinutes(10), now.plusDays(1));
+        StoredRefreshToken rotated = issue(userId, "f4", now.minusMinutes(60), now.plusDays(1));
+        store().markRotated(rotated.id(), rotated.version(), now.minusMinutes(60));
+        issue(userId, "f5", now.minusMinutes(90), now.minusMinutes(1));     // 만료
+        issue(otherUserId, "f6", now.minusMinutes(120), now.plusDays(1));   // 다른 사용자
+
+        assertThat(store().countLive(userId, now)).isEqualTo(3);
+        assertThat(store().findLeastRecentlyUsedLive(userId, now, 2)).containsExactly(oldest.id(), middle.id());
+        assertThat(store().findLeastRecentlyUsedLive(userId, now, 10))
+                .containsExactly(oldest.id(), middle.id(), newest.id());
+    }
+
+    @Test
+    void findsPurgeableTokensInIdOrderAndDeletesThem() {
+        long userId = createUser();
+        StoredRefreshToken expired1 = issue(userId, "f1", now, now.minusMinutes(5));
+        StoredRefreshToken live = issue(userId, "f2");
+        StoredRefreshToken revoked = issue(userId, "f3");
+        store().revoke(revoked.id());
+        StoredRefreshToken expired2 = issue(userId, "f4", now, now.minusMinutes(5));
+
+        List<Long> firstPage = store().findPurgeable(0, now, 2);
+        assertThat(firstPage).containsExactly(expired1.id(), revoked.id());
+        List<Long> secondPage = store().findPurgeable(firstPage.get(1), now, 2);
+        assertThat(secondPage).containsExactly(expired2.id());
+
+        assertThat(store().deleteByIds(List.of(expired1.id(), revoked.id(), expired2.id()))).isEqualTo(3);
+        assertThat(store().deleteByIds(List.of(expired1.id()))).isZero();
+        assertThat(store().findByTokenHash(expired1.tokenHash())).isEmpty();
+        assertThat(store().findByTokenHash(live.tokenHash())).isPresent();
+        assertThat(store().findPurgeable(0, now, 10)).isEmpty();
+    }
+
+    @Test
+    void updateLastUsedNeverMovesBackwards() {
+        StoredRefreshToken saved = issue(createUser(), "f1", now, now.plusDays(1));
+
+        store().updateLastUsed(Map.of(saved.id(), now.plusMinutes(5)));
+        assertThat(find(saved).lastUsedAt()).isEqualTo(now.plusMinutes(5));
+
+        store().updateLastUsed(Map.of(saved.id(), now.plusMinutes(1)));
+        assertThat(find(saved).lastUsedAt()).isEqualTo(now.plusMinutes(5));
+        // 사용 시간 기록은 version을 올리지 않는다.
+        assertThat(find(saved).version()).isEqualTo(saved.version());
+    }
+
+    /**
+     * 여러 스레드가 로그인(save) -> refresh(find, markRotated, save)를 반복한다.
+     * 모든 rotation이 성공해야 하고 정해진 시간 안에 끝나야 한다.
+     */
+    @Test
+    void throughput() {
+        int rotationsPerThread = throughputRotationsPerThread();
+        long userId = createUser();
+        AtomicInteger rotations = new AtomicInteger();
+
+        assertTimeout(throughputBudget(), () -> {
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int t = 0; t < THREADS; t++) {
+                    futures.add(executor.submit(() -> {
+                        String familyId = UUID.randomUUID().toString();
+                        StoredRefreshToken current = issue(userId, familyId);
+                        for (int i = 0; i < rotationsPerThread; i++) {
+                            Optional<StoredRefreshToken> found = store().findByTokenHash(current.tokenHash());
+                            StoredRefreshToken token = found.orElseThrow();
+                            if (store().markRotated(token.id(), token.version(), now)) {
+                                rotations.incrementAndGet();
+                            }
+                            current = issue(userId, familyId);
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+        });
+
+        assertThat(rotations.get()).isEqualTo(THREADS * rotationsPerThread);
+        assertThat(store().countLive(userId, now)).isEqualTo(THREADS);
+    }
+
+    protected int throughputRotationsPerThread() {
+        return 2_000;
+    }
+}
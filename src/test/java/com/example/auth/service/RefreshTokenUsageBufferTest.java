@@ -0,0 +1,52 @@
+package com.example.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RefreshTokenUsageBufferTest {
+
+    @Test
+    void flushesOffCallerThreadWhenMaxPendingIsReached() throws Exception {
+        CompletableFuture<Thread> flushedOn = new CompletableFuture<>();
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore() {
+            @Override
+            public void updateLastUsed(Map<Long, LocalDateTime> lastUsed) {
+                flushedOn.complete(Thread.currentThread());
+            }
+        };
+        RefreshTokenUsageBuffer buffer = new RefreshTokenUsageBuffer(store, new SimpleMeterRegistry(), 2);
+        LocalDateTime now = LocalDateTime.now();
+
+        buffer.record(1L, now);
+        buffer.record(2L, now);
+
+        // 호출한 스레드(rotation 트랜잭션)가 아니라 별도 스레드에서 저장한다.
+        assertThat(flushedOn.get(5, TimeUnit.SECONDS)).isNotSameAs(Thread.currentThread());
+        buffer.flushOnShutdown();
+    }
+
+    @Test
+    void flushOnShutdownSavesRemainingEntries() throws Exception {
+        Map<Long, LocalDateTime> saved = new ConcurrentHashMap<>();
+        InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore() {
+            @Override
+            public void updateLastUsed(Map<Long, LocalDateTime> lastUsed) {
+                saved.putAll(lastUsed);
+            }
+        };
+        RefreshTokenUsageBuffer buffer = new RefreshTokenUsageBuffer(store, new SimpleMeterRegistry(), 100);
+
+        buffer.record(1L, LocalDateTime.now());
+        buffer.flushOnShutdown();
+
+        assertThat(saved).containsOnlyKeys(1L);
+    }
+}
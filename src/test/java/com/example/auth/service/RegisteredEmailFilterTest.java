@@ -0,0 +1,146 @@
+package com.example.auth.service;
+
+import com.example.auth.dto.RequestSignup;
+import com.example.auth.exception.DuplicationEmailException;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.security.AccessTokenDenylist;
+import com.example.auth.security.JwtTokenProvider;
+import com.example.auth.security.LoginThrottle;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+class RegisteredEmailFilterTest {
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RegisteredEmailFilter filter = new RegisteredEmailFilter(userRepository, meterRegistry, 1000, 0.01, 2);
+
+    @Test
+    void definiteMissSkipsDatabase() {
+        load();
+
+        assertThat(filter.isRegistered("new@example.com")).isFalse();
+
+        Mockito.verify(userRepository, Mockito.never()).existsByEmail(anyString());
+        assertThat(count("miss")).isEqualTo(1);
+    }
+
+    @Test
+    void likelyHitIsConfirmedByDatabase() {
+        load();
+        filter.add("user@example.com");
+        Mockito.when(userRepository.existsByEmail("user@example.com")).thenReturn(true);
+
+        assertThat(filter.isRegistered("user@example.com")).isTrue();
+
+        Mockito.verify(userRepository).existsByEmail("user@example.com");
+        assertThat(count("duplicate")).isEqualTo(1);
+    }
+
+    @Test
+    void falsePositiveIsCounted() {
+        load();
+        // filter에는 있지만 DB에는 없는 이메일(예: 가입 후 삭제)
+        filter.add("deleted@example.com");
+
+        assertThat(filter.isRegistered("deleted@example.com")).isFalse();
+
+        assertThat(count("false_positive")).isEqualTo(1);
+    }
+
+    @Test
+    void queriesDatabaseUntilLoaded() {
+        Mockito.when(userRepository.existsByEmail("user@example.com")).thenReturn(true);
+
+        // 로드 전에는 filter에 없어도 DB로 확인한다.
+        assertThat(filter.isRegistered("user@example.com")).isTrue();
+        assertThat(filter.isRegistered("new@example.com")).isFalse();
+
+        Mockito.verify(userRepository, Mockito.times(2)).existsByEmail(anyString());
+        assertThat(count("miss")).isZero();
+        assertThat(count("false_positive")).isZero();
+    }
+
+    @Test
+    void loadScansAllBatchesInIdOrder() {
+        // batch-size 2로 5명 -> (0 이후 1,2), (2 이후 3,4), (4 이후 5)
+        Mockito.when(userRepository.findEmailsAfterId(any(), any())).thenAnswer(invocation -> {
+            long lastId = invocation.getArgument(0);
+            return LongStream.rangeClosed(lastId + 1, Math.min(lastId + 2, 5))
+                    .mapToObj(id -> (UserRepository.EmailView) new Email(id, " User" + id + "@Example.com "))
+                    .toList();
+        });
+
+        filter.run(null);
+
+        Mockito.verify(userRepository).findEmailsAfterId(eq(0L), eq(PageRequest.of(0, 2)));
+        Mockito.verify(userRepository).findEmailsAfterId(eq(2L), eq(PageRequest.of(0, 2)));
+        Mockito.verify(userRepository).findEmailsAfterId(eq(4L), eq(PageRequest.of(0, 2)));
+        Mockito.verifyNoMoreInteractions(userRepository);
+
+        // 모든 batch의 이메일이 정규화되어 추가되었으므로 DB로 확인한다.
+        for (int id = 1; id <= 5; id++) {
+            filter.isRegistered("user" + id + "@example.com");
+        }
+        Mockito.verify(userRepository, Mockito.times(5)).existsByEmail(anyString());
+    }
+
+    @Test
+    void signupRejectsLikelyDuplicateBeforeHashing() {
+        load();
+        filter.add("user@example.com");
+        Mockito.when(userRepository.existsByEmail("user@example.com")).thenReturn(true);
+        PasswordEncoder passwordEncoder = Mockito.mock(PasswordEncoder.class);
+        Authservice authservice = new Authservice(
+                userRepository,
+                passwordEncoder,
+                Mockito.mock(JwtTokenProvider.class),
+                Mockito.mock(RefreshTokenService.class),
+                Mockito.mock(AuthenticationManager.class),
+                Mockito.mock(AccessTokenDenylist.class),
+                Mockito.mock(RevocationEventPublisher.class),
+                Mockito.mock(PasswordRehashService.class),
+                Mockito.mock(LoginThrottle.class),
+                filter
+        );
+
+        assertThatThrownBy(() -> authservice.signup(new RequestSignup(" User@Example.com", "password1", "user")))
+                .isInstanceOf(DuplicationEmailException.class);
+
+        Mockito.verify(passwordEncoder, Mockito.never()).encode(any());
+        Mockito.verify(userRepository, Mockito.never()).save(any());
+    }
+
+    private void load() {
+        Mockito.when(userRepository.findEmailsAfterId(any(), any())).thenReturn(List.of());
+        filter.run(null);
+    }
+
+    private double count(String result) {
+        return meterRegistry.get("auth.signup.email.filter").tag("result", result).counter().count();
+    }
+
+    private record Email(Long id, String email) implements UserRepository.EmailView {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.RevocationEvent;
+import com.example.auth.repository.RevocationEventRepository;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.security.AccessTokenDenylist;
+import com.example.auth.security.AccountRevocationRegistry;
+import com.example.auth.security.JwtTokenProvider;
+import com.example.auth.security.PrincipalCache;
+import com.example.auth.security.SessionEpochCache;
+import com.example.auth.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2(MySQL 모드)에서 서버 두 대(각자 캐시를 가진 poller)가 revocation_events로 폐기를 전파하는지 테스트한다.
+ * 커밋 순서를 제어하기 위해 테스트 트랜잭션을 사용하지 않는다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:revocation-events;MODE=MySQL;NON_KEYWORDS=USER;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RevocationEventPublisher.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RevocationEventPollerTest {
+    private static final long USER_ID = 42L;
+
+    @Autowired
+    private RevocationEventRepository revocationEventRepository;
+    @Autowired
+    private RevocationEventPublisher publisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenProvider = Mockito.mock(JwtTokenProvider.class);
+        Mockito.when(jwtTokenProvider.getAccessTokenExpiration()).thenReturn(Duration.ofHours(1).toMillis());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        revocationEventRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void propagatesAccessTokenRevocationToOtherNode() {
+        Node other = new Node();
+        other.poller.poll();
+
+        VerifiedToken token = accessToken();
+        publisher.accessTokenRevoked(token);
+
+        assertThat(other.denylist.isRevoked(token)).isFalse();
+        assertThat(other.poller.poll()).isEqualTo(1);
+        assertThat(other.denylist.isRevoked(token)).isTrue();
+        // 이미 적용한 이벤트는 다시 적용하지 않는다.
+        assertThat(other.poller.poll()).isZero();
+    }
+
+    @Test
+    void propagatesAccountVersionChange() {
+        Node other = new Node();
+        other.poller.poll();
+
+        publisher.accountVersionChanged(USER_ID, 3);
+        other.poller.poll();
+
+        assertThat(other.registry.isRevoked(USER_ID, 2)).isTrue();
+        assertThat(other.registry.isRevoked(USER_ID, 3)).isFalse();
+    }
+
+    @Test
+    void newNodeReplaysEventsWithinRetention() {
+        VerifiedToken token = accessToken();
+        publisher.accessTokenRevoked(token);
+
+        Node started = new Node();
+        started.poller.poll();
+
+        assertThat(started.denylist.isRevoked(token)).isTrue();
+    }
+
+    @Test
+    void appliesEventCommittedAfterHigherId() throws Exception {
+        publisher.accountVersionChanged(USER_ID, 1);
+        Node other = new Node();
+        other.poller.poll();
+
+        VerifiedToken late = accessToken();
+        VerifiedToken early = accessToken();
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 먼저 id를 받았지만 늦게 커밋되는 트랜잭션
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                publisher.accessTokenRevoked(late);
+                revocationEventRepository.flush();
+                inserted.countDown();
+                await(commit);
+            }));
+            assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+            publisher.accessTokenRevoked(early);
+
+            other.poller.poll();
+            assertThat(other.denylist.isRevoked(early)).isTrue();
+            assertThat(other.denylist.isRevoked(late)).isFalse();
+            assertThat(other.poller.pendingGapCount()).isEqualTo(1);
+
+            commit.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+
+            other.poller.poll();
+            assertThat(other.denylist.isRevoked(late)).isTrue();
+            assertThat(other.poller.pendingGapCount()).isZero();
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void appliesEventCommittedLateWhenStartedFromEmptyTable() throws Exception {
+        Node other = new Node();
+        other.poller.poll();
+        assertThat(other.poller.cursor()).isZero();
+
+        VerifiedToken late = accessToken();
+        VerifiedToken early = accessToken();
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // 처음 보는 이벤트보다 먼저 id를 받았지만 늦게 커밋되는 트랜잭션
+            Future<?> slow = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                publisher.accessTokenRevoked(late);
+                revocationEventRepository.flush();
+                inserted.countDown();
+                await(commit);
+            }));
+            assertThat(inserted.await(5, TimeUnit.SECONDS)).isTrue();
+            publisher.accessTokenRevoked(early);
+
+            other.poller.poll();
+            assertThat(other.denylist.isRevoked(early)).isTrue();
+            assertThat(other.denylist.isRevoked(late)).isFalse();
+
+            commit.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+
+            other.poller.poll();
+            assertThat(other.denylist.isRevoked(late)).isTrue();
+        } finally {
+            commit.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void appliesUserChangedEventWrittenByOlderNode() {
+        Node other = new Node();
+        other.poller.poll();
+        AtomicInteger loads = new AtomicInteger();
+        other.principalCache.get(USER_ID, id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        // 이전 버전의 서버는 사용자 정보 변경을 USER_CHANGED로 저장했다.
+        revocationEventRepository.save(RevocationEvent.builder()
+                .type(RevocationEvent.Type.USER_CHANGED)
+                .userId(USER_ID)
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        assertThat(other.poller.poll()).isEqualTo(1);
+        other.principalCache.get(USER_ID, id -> {
+            loads.incrementAndGet();
+            return null;
+        });
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void purgesEventsOlderThanRetention() {
+        revocationEventRepository.save(RevocationEvent.builder()
+                .type(RevocationEvent.Type.USER_CHANGED)
+                .userId(USER_ID)
+                .createdAt(LocalDateTime.now().minusHours(2))
+                .build());
+        publisher.accountVersionChanged(USER_ID, 1);
+
+        new Node().poller.purge();
+
+        assertThat(revocationEventRepository.findAll())
+                .extracting(RevocationEvent::getType)
+                .containsExactly(RevocationEvent.Type.ACCOUNT_VERSION);
+    }
+
+    private VerifiedToken accessToken() {
+        Instant now = Instant.now();
+        return new VerifiedToken("user@example.com", USER_ID, "access", now, now.plus(Duration.ofMinutes(30)),
+                null, null, null, UUID.randomUUID().toString());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 자신의 캐시를 가진 서버 한 대
+     */
+    private class Node {
+        final AccessTokenDenylist denylist =
+                new AccessTokenDenylist(new SimpleMeterRegistry(), 1000, 0.01, Duration.ofSeconds(1));
+        final AccountRevocationRegistry registry = new AccountRevocationRegistry(jwtTokenProvider);
+        final PrincipalCache principalCache = new PrincipalCache(new SimpleMeterRegistry(), Duration.ofSeconds(30), 100);
+        final RevocationEventPoller poller = new RevocationEventPoller(
+                revocationEventRepository,
+                new TransactionTemplate(transactionManager),
+                principalCache,
+                new SessionEpochCache(Mockito.mock(UserRepository.class), new SimpleMeterRegistry(), Duration.ofSeconds(30), 100),
+                registry,
+                denylist,
+                jwtTokenProvider,
+                new SimpleMeterRegistry(),
+                500,
+                Duration.ofSeconds(30));
+    }
+}
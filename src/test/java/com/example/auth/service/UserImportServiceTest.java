@@ -0,0 +1,126 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.User;
+import com.example.auth.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.autoconfigure.JdbcTemplateAutoConfiguration;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * H2(MySQL 모드)에서 대량 사용자 등록을 테스트한다.
+ */
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:user-import;MODE=MySQL;NON_KEYWORDS=USER;DATABASE_TO_LOWER=TRUE")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ImportAutoConfiguration(JdbcTemplateAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class UserImportServiceTest {
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserRepository userRepository;
+
+    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(4);
+    private UserImportService service;
+
+    @BeforeEach
+    void setUp() {
+        RegisteredEmailFilter registeredEmailFilter =
+                new RegisteredEmailFilter(userRepository, new SimpleMeterRegistry(), 1000, 0.01, 100);
+        service = new UserImportService(
+                jdbcTemplate,
+                new TransactionTemplate(transactionManager),
+                passwordEncoder,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                JsonMapper.builder().build(),
+                registeredEmailFilter,
+                new SimpleMeterRegistry(),
+                10,
+                2);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void importsNdjsonInBatches() throws Exception {
+        String input = IntStream.rangeClosed(1, 25)
+                .mapToObj(i -> "{\"email\":\"User" + i + "@Example.com\",\"password\":\"password" + i + "\",\"username\":\"user" + i + "\"}")
+                .collect(Collectors.joining("\n"));
+
+        UserImportService.Summary summary = run(input, UserImportService.Format.NDJSON, new ByteArrayOutputStream());
+
+        assertThat(summary.created()).isEqualTo(25);
+        User user = userRepository.findByEmail("user7@example.com").orElseThrow();
+        assertThat(passwordEncoder.matches("password7", user.getPassword())).isTrue();
+        assertThat(user.getRole()).isEqualTo(User.Role.ROLE_USER);
+        assertThat(user.getIsActive()).isTrue();
+    }
+
+    @Test
+    void reportsEachRowOfCsv() throws Exception {
+        userRepository.save(User.builder().email("taken@example.com").nickname("taken").build());
+        String input = String.join("\n",
+                "email,password,username",
+                "new@example.com,password1,\"Kim, Minsu\"",
+                "taken@example.com,password2,taken",
+                "new@example.com,password3,again",
+                "not-an-email,password4,bad",
+                "missing,fields");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserImportService.Summary summary = run(input, UserImportService.Format.CSV, out);
+
+        assertThat(summary).isEqualTo(new UserImportService.Summary(5, 1, 2, 2, 0));
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(lines).hasSize(6);
+        assertThat(lines.get(0)).contains("\"line\":2", "\"status\":\"CREATED\"");
+        assertThat(lines.get(1)).contains("\"line\":3", "\"status\":\"DUPLICATE\"");
+        assertThat(lines.get(2)).contains("\"line\":4", "\"status\":\"DUPLICATE\"");
+        assertThat(lines.get(3)).contains("\"line\":5", "\"status\":\"INVALID\"");
+        assertThat(userRepository.findByEmail("new@example.com").orElseThrow().getNickname()).isEqualTo("Kim, Minsu");
+    }
+
+    @Test
+    void importsFirstCsvRowThatOnlyStartsWithEmail() throws Exception {
+        String input = String.join("\n",
+                "email.team@example.com,password1,team",
+                "other@example.com,password2,other");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        UserImportService.Summary summary = run(input, UserImportService.Format.CSV, out);
+
+        assertThat(summary.created()).isEqualTo(2);
+        assertThat(userRepository.findByEmail("email.team@example.com")).isPresent();
+    }
+
+    private UserImportService.Summary run(String input, UserImportService.Format format, ByteArrayOutputStream out) throws Exception {
+        return service.importUsers(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), format, out);
+    }
+}
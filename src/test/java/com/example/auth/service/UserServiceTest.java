@@ -0,0 +1,68 @@
+package com.example.auth.service;
+
+import com.example.auth.entity.User;
+import com.example.auth.repository.UserProfileRepository;
+import com.example.auth.repository.UserRepository;
+import com.example.auth.security.AccountRevocationRegistry;
+import com.example.auth.security.AuthUser;
+import com.example.auth.security.PrincipalCache;
+import com.example.auth.security.VerifiedToken;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserServiceTest {
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final UserService userService = new UserService(
+            userRepository,
+            Mockito.mock(UserProfileRepository.class),
+            Mockito.mock(AccountRevocationRegistry.class),
+            Mockito.mock(RevocationEventPublisher.class),
+            Mockito.mock(ApplicationEventPublisher.class),
+            new PrincipalCache(new SimpleMeterRegistry(), Duration.ofSeconds(30), 100)
+    );
+
+    @Test
+    void currentUserFromTokenClaimsIsFilledFromDatabase() {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 1, 1, 0, 0);
+        User user = User.builder()
+                .id(1L)
+                .email("user@example.com")
+                .nickname("user")
+                .role(User.Role.ROLE_USER)
+                .provider("KAKAO")
+                .profileImage("https://example.com/a.png")
+                .createdAt(createdAt)
+                .isActive(true)
+                .build();
+        Mockito.when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        Instant now = Instant.now();
+        AuthUser principal = AuthUser.fromToken(new VerifiedToken("user@example.com", 1L, VerifiedToken.TYPE_ACCESS,
+                now, now.plusSeconds(60), User.Role.ROLE_USER.name(), 0, 0, "jti"));
+
+        AuthUser current = userService.getCurrentUser(principal);
+
+        // stateless 모드에서도 /api/me 응답 값이 비어있지 않다.
+        assertThat(current).isEqualTo(AuthUser.from(user));
+        // 두 번째 요청은 캐시에서 가져온다.
+        userService.getCurrentUser(principal);
+        Mockito.verify(userRepository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    void currentUserLoadedFromDatabaseIsReturnedAsIs() {
+        AuthUser principal = new AuthUser(1L, "user@example.com", "user", User.Role.ROLE_USER,
+                "LOCAL", null, LocalDateTime.now());
+
+        assertThat(userService.getCurrentUser(principal)).isSameAs(principal);
+        Mockito.verifyNoInteractions(userRepository);
+    }
+}
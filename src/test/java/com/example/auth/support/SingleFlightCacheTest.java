@@ -0,0 +1,150 @@
+package com.example.auth.support;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightCacheTest {
+    private final AtomicLong clock = new AtomicLong();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void waiterReceivesResultOfInFlightLoad() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 100, clock::get);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger loads = new AtomicInteger();
+
+        Future<String> first = executor.submit(() -> cache.get("k", k -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            await(release);
+            return "v";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // 조회 중인 값을 기다리는 스레드
+        Future<String> waiter = executor.submit(() -> cache.get("k", k -> {
+            loads.incrementAndGet();
+            return "other";
+        }));
+        awaitHit(cache);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("v");
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void exceptionIsPassedToWaiterAndNotCached() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 100, clock::get);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> cache.get("k", k -> {
+            loading.countDown();
+            await(release);
+            throw new IllegalStateException("boom");
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> waiter = executor.submit(() -> cache.get("k", k -> "other"));
+        awaitHit(cache);
+        release.countDown();
+
+        assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> waiter.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        // 예외는 보관하지 않으므로 다음 조회는 다시 loader를 실행한다.
+        assertThat(cache.get("k", k -> "v")).isEqualTo("v");
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void expiredEntryIsReloaded() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofNanos(100), 100, clock::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get("k", k -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        clock.addAndGet(99);
+        assertThat(cache.get("k", k -> "v" + loads.incrementAndGet())).isEqualTo("v1");
+        clock.addAndGet(1);
+        assertThat(cache.get("k", k -> "v" + loads.incrementAndGet())).isEqualTo("v2");
+    }
+
+    @Test
+    void uncacheableResultIsNotKept() {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 100, clock::get);
+
+        assertThat(cache.get("k", k -> "failed", v -> !v.equals("failed"))).isEqualTo("failed");
+        assertThat(cache.size()).isZero();
+        assertThat(cache.get("k", k -> "ok", v -> !v.equals("failed"))).isEqualTo("ok");
+        assertThat(cache.get("k", k -> "other")).isEqualTo("ok");
+    }
+
+    @Test
+    void invalidateDuringLoadDiscardsResult() throws Exception {
+        SingleFlightCache<String, String> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 100, clock::get);
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> cache.get("k", k -> {
+            loading.countDown();
+            await(release);
+            return "stale";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        cache.invalidate("k");
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("stale");
+        assertThat(cache.get("k", k -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void sizeIsBoundedByMaxSize() {
+        SingleFlightCache<Integer, Integer> cache = new SingleFlightCache<>(Duration.ofSeconds(10), 100, clock::get);
+
+        for (int i = 0; i < 1000; i++) {
+            cache.get(i, k -> k);
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(100);
+    }
+
+    /**
+     * 다른 스레드가 조회 중인 값을 기다리기 시작할 때까지(hit로 집계된 뒤 future를 기다림)
+     */
+    private static void awaitHit(SingleFlightCache<?, ?> cache) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (cache.getHitCount() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.auth.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimingWheelTest {
+
+    @Test
+    void expiresItemAfterItsTickEnds() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(100), 16, 0);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 250);
+
+        assertThat(wheel.advance(200, expired::add)).isZero();
+        // 250ms가 속한 tick(200 ~ 300)이 끝나야 꺼낸다.
+        assertThat(wheel.advance(299, expired::add)).isZero();
+        assertThat(wheel.advance(300, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void pastExpiryIsReturnedOnNextTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(100), 16, 1_000);
+        List<String> expired = new ArrayList<>();
+        wheel.schedule("a", 0);
+
+        assertThat(wheel.advance(1_100, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("a");
+    }
+
+    @Test
+    void keepsItemsBeyondOneTurnUntilTheirTick() {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(100), 4, 0);
+        List<String> expired = new ArrayList<>();
+        // 한 바퀴(400ms)보다 먼 만료 시간
+        wheel.schedule("far", 1_000);
+
+        assertThat(wheel.advance(500, expired::add)).isZero();
+        assertThat(wheel.advance(900, expired::add)).isZero();
+        assertThat(wheel.advance(1_000, expired::add)).isEqualTo(1);
+        assertThat(expired).containsExactly("far");
+    }
+
+    @Test
+    void itemScheduledWhileAdvancingIsNotDelayedByAFullTurn() throws Exception {
+        TimingWheel<String> wheel = new TimingWheel<>(Duration.ofMillis(100), 16, 0);
+        List<String> expired = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        List<Future<?>> scheduling = new CopyOnWriteArrayList<>();
+        wheel.schedule("trigger", 200);
+
+        try {
+            // tick 1, 2를 한 번에 지나가는 advance() 도중(tick 1 slot을 확인한 뒤)에
+            // 다른 스레드가 지금 만료되는 항목을 등록한다.
+            wheel.advance(200, item -> {
+                expired.add(item);
+                Future<?> future = executor.submit(() -> wheel.schedule("late", 100));
+                scheduling.add(future);
+                try {
+                    future.get(200, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    // advance()가 끝날 때까지 등록을 기다리는 경우
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            scheduling.get(0).get(5, TimeUnit.SECONDS);
+
+            // 이미 지나간 tick 1 slot에 들어가면 wheel 한 바퀴 뒤에야 꺼내진다.
+            wheel.advance(300, expired::add);
+            assertThat(expired).containsExactly("trigger", "late");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}